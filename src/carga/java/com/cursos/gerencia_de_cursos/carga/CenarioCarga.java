@@ -0,0 +1,72 @@
+package com.cursos.gerencia_de_cursos.carga;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros de uma execução do teste de carga, lidos de argumentos
+ * {@code chave=valor}. O mix de operações é uma lista de pesos, por exemplo
+ * {@code mix=criarAluno:1,matricular:3,listarTurmas:6}.
+ *
+ * @param taxa          requisições iniciadas por segundo (modelo aberto: não espera as respostas)
+ * @param aquecimento   tempo de carga inicial descartado do relatório
+ * @param maxPendentes  requisições em andamento acima das quais as novas são descartadas e contadas como falha
+ * @param url           aplicação já em execução; vazia para subir a aplicação sobre um H2 em memória
+ */
+record CenarioCarga(
+        int taxa,
+        Duration duracao,
+        Duration aquecimento,
+        Map<Operacao, Integer> mix,
+        int cursos,
+        int professores,
+        int turmas,
+        int capacidade,
+        int alunos,
+        int maxPendentes,
+        long semente,
+        String url,
+        String relatorio) {
+
+    static CenarioCarga de(String[] argumentos) {
+        Map<String, String> valores = new HashMap<>();
+        for (String argumento : argumentos) {
+            int separador = argumento.indexOf('=');
+            if (separador < 1) {
+                throw new IllegalArgumentException("Argumento inválido (esperado chave=valor): " + argumento);
+            }
+            valores.put(argumento.substring(0, separador), argumento.substring(separador + 1));
+        }
+        return new CenarioCarga(
+            Integer.parseInt(valores.getOrDefault("taxa", "200")),
+            Duration.parse("PT" + valores.getOrDefault("duracao", "60s")),
+            Duration.parse("PT" + valores.getOrDefault("aquecimento", "10s")),
+            lerMix(valores.getOrDefault("mix", "criarAluno:1,matricular:3,listarTurmas:6")),
+            Integer.parseInt(valores.getOrDefault("cursos", "20")),
+            Integer.parseInt(valores.getOrDefault("professores", "50")),
+            Integer.parseInt(valores.getOrDefault("turmas", "200")),
+            Integer.parseInt(valores.getOrDefault("capacidade", "40")),
+            Integer.parseInt(valores.getOrDefault("alunos", "5000")),
+            Integer.parseInt(valores.getOrDefault("maxPendentes", "5000")),
+            Long.parseLong(valores.getOrDefault("semente", "42")),
+            valores.getOrDefault("url", ""),
+            valores.getOrDefault("relatorio", "target/carga-resultado.json"));
+    }
+
+    private static Map<Operacao, Integer> lerMix(String mix) {
+        Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+        for (String item : mix.split(",")) {
+            String[] partes = item.trim().split(":");
+            int peso = Integer.parseInt(partes[1]);
+            if (peso > 0) {
+                pesos.put(Operacao.de(partes[0]), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("O mix deve ter ao menos uma operação com peso positivo.");
+        }
+        return pesos;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cursos.gerencia_de_cursos.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (em microssegundos, desde o instante em que a requisição deveria
+ * ter saído) e contagem de respostas de um endpoint.
+ */
+final class MedicaoEndpoint {
+
+    private final ConcurrentHistogram latencias = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+    private final Map<Integer, LongAdder> status = new ConcurrentHashMap<>();
+    private final LongAdder falhas = new LongAdder();
+
+    void registrar(int codigoStatus, long latenciaNanos) {
+        latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latenciaNanos), latencias.getHighestTrackableValue()));
+        status.computeIfAbsent(codigoStatus, codigo -> new LongAdder()).increment();
+    }
+
+    /**
+     * Erro de conexão, tempo esgotado ou requisição descartada por excesso de pendentes.
+     */
+    void registrarFalha() {
+        falhas.increment();
+    }
+
+    void zerar() {
+        latencias.reset();
+        status.clear();
+        falhas.reset();
+    }
+
+    Resultado resultado(double segundos) {
+        Map<String, Long> respostas = new TreeMap<>();
+        long erros = falhas.sum();
+        for (Map.Entry<Integer, LongAdder> entrada : status.entrySet()) {
+            respostas.put(String.valueOf(entrada.getKey()), entrada.getValue().sum());
+            if (entrada.getKey() >= 500) {
+                erros += entrada.getValue().sum();
+            }
+        }
+        long total = latencias.getTotalCount() + falhas.sum();
+        return new Resultado(
+            total,
+            total / segundos,
+            new Latencias(
+                milissegundos(latencias.getValueAtPercentile(50)),
+                milissegundos(latencias.getValueAtPercentile(99)),
+                milissegundos(latencias.getValueAtPercentile(99.9)),
+                milissegundos(latencias.getMaxValue()),
+                latencias.getTotalCount() == 0 ? 0 : latencias.getMean() / 1000.0),
+            total == 0 ? 0 : (double) erros / total,
+            respostas,
+            falhas.sum());
+    }
+
+    private static double milissegundos(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * @param vazao     requisições por segundo
+     * @param taxaErros fração das requisições com resposta 5xx ou falha
+     */
+    record Resultado(long requisicoes, double vazao, Latencias latenciaMs, double taxaErros, Map<String, Long> status, long falhas) {
+    }
+
+    record Latencias(double p50, double p99, double p999, double max, double media) {
+    }
+}
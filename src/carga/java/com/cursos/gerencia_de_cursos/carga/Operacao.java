@@ -0,0 +1,32 @@
+package com.cursos.gerencia_de_cursos.carga;
+
+import java.util.Arrays;
+
+/**
+ * Operações do dia de matrículas, identificadas no relatório pelo endpoint.
+ */
+enum Operacao {
+
+    CRIAR_ALUNO("criarAluno", "POST /api/alunos"),
+    MATRICULAR("matricular", "POST /api/turmas/{turmaId}/matricular/{alunoId}"),
+    LISTAR_TURMAS("listarTurmas", "GET /api/turmas");
+
+    private final String nome;
+    private final String endpoint;
+
+    Operacao(String nome, String endpoint) {
+        this.nome = nome;
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operacao de(String nome) {
+        return Arrays.stream(values())
+            .filter(operacao -> operacao.nome.equals(nome))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Operação desconhecida no mix: " + nome));
+    }
+}
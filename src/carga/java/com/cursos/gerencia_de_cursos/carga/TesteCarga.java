@@ -0,0 +1,264 @@
+package com.cursos.gerencia_de_cursos.carga;
+
+import com.cursos.gerencia_de_cursos.GerenciaDeCursosApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga do dia de matrículas: alunos sendo cadastrados, matrículas e
+ * consultas à lista de turmas ao mesmo tempo, na proporção do mix do cenário.
+ *
+ * <p>Sobe a aplicação sobre um H2 em memória (ou usa a {@code url} informada),
+ * popula cursos, professores, turmas e alunos pelos próprios endpoints e
+ * dispara as requisições em ritmo fixo, sem esperar as respostas, para que a
+ * lentidão do servidor apareça como latência e não como queda de carga. O
+ * resultado por endpoint vai para um arquivo JSON comparável entre execuções.
+ */
+public final class TesteCarga {
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+    private static final Duration TEMPO_MAXIMO_RESPOSTA = Duration.ofSeconds(30);
+
+    private final CenarioCarga cenario;
+    private final HttpClient cliente = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final Map<Operacao, MedicaoEndpoint> medicoes = new EnumMap<>(Operacao.class);
+    private final List<Long> turmas = new ArrayList<>();
+    private final List<Long> alunos = new ArrayList<>();
+    private final AtomicLong proximoCpf = new AtomicLong(20_000_000_000L);
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private String base;
+
+    private TesteCarga(CenarioCarga cenario) {
+        this.cenario = cenario;
+        for (Operacao operacao : Operacao.values()) {
+            medicoes.put(operacao, new MedicaoEndpoint());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        CenarioCarga cenario = CenarioCarga.de(args);
+        ConfigurableApplicationContext contexto = cenario.url().isEmpty() ? iniciarAplicacao() : null;
+        try {
+            TesteCarga teste = new TesteCarga(cenario);
+            teste.base = contexto == null
+                ? cenario.url()
+                : "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            teste.popular();
+            teste.executar();
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao() {
+        // o reinício do devtools executaria o main de novo, sem os argumentos
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(GerenciaDeCursosApplication.class)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:carga;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN")
+            .run();
+    }
+
+    /**
+     * Cria a massa de dados pelos endpoints da API. Cada professor recebe
+     * turmas em semestres consecutivos, para não haver conflito de agenda.
+     */
+    private void popular() throws Exception {
+        List<Long> cursos = new ArrayList<>();
+        for (int i = 1; i <= cenario.cursos(); i++) {
+            cursos.add(criar("/api/cursos", Map.of("nome", "Curso " + i, "descricao", "Curso " + i + " do teste de carga", "cargaHoraria", 60)));
+        }
+        List<Long> professores = new ArrayList<>();
+        for (int i = 1; i <= cenario.professores(); i++) {
+            professores.add(criar("/api/professores", Map.of("nome", "Professor " + i, "areaEspecializacao", "Área " + i % 10, "curriculo", "Currículo " + i)));
+        }
+        LocalDate inicio = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < cenario.turmas(); i++) {
+            LocalDate dataInicio = inicio.plusMonths(6L * (i / professores.size()));
+            turmas.add(criar("/api/turmas", Map.of(
+                "codigoTurma", "CARGA-" + i,
+                "dataInicio", dataInicio.toString(),
+                "dataFim", dataInicio.plusMonths(5).toString(),
+                "capacidade", cenario.capacidade(),
+                "curso", Map.of("id", cursos.get(i % cursos.size())),
+                "professor", Map.of("id", professores.get(i % professores.size())))));
+        }
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < cenario.alunos(); i++) {
+            ndjson.append(JSON.writeValueAsString(Map.of(
+                "nome", "Aluno " + i, "cpf", String.format("1%010d", i), "email", "aluno" + i + "@exemplo.com"))).append('\n');
+        }
+        enviar(HttpRequest.newBuilder(URI.create(base + "/api/alunos/importacao"))
+            .header("Content-Type", "application/x-ndjson")
+            .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString())));
+
+        Long cursor = null;
+        do {
+            JsonNode pagina = JSON.readTree(enviar(HttpRequest.newBuilder(
+                URI.create(base + "/api/alunos?limit=500" + (cursor == null ? "" : "&after=" + cursor))).GET()));
+            pagina.get("itens").forEach(aluno -> alunos.add(aluno.get("id").asLong()));
+            cursor = pagina.get("proximoCursor").isNull() ? null : pagina.get("proximoCursor").asLong();
+        } while (cursor != null);
+
+        System.out.printf("Massa criada: %d cursos, %d professores, %d turmas, %d alunos%n",
+            cursos.size(), professores.size(), turmas.size(), alunos.size());
+    }
+
+    private long criar(String caminho, Map<String, Object> corpo) throws Exception {
+        String resposta = enviar(HttpRequest.newBuilder(URI.create(base + caminho))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(corpo))));
+        return JSON.readTree(resposta).get("id").asLong();
+    }
+
+    private String enviar(HttpRequest.Builder requisicao) throws Exception {
+        HttpResponse<String> resposta = cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 300) {
+            throw new IllegalStateException("Falha ao popular a base: " + resposta.statusCode() + " " + resposta.body());
+        }
+        return resposta.body();
+    }
+
+    private void executar() throws Exception {
+        Random aleatorio = new Random(cenario.semente());
+        List<Operacao> sorteio = new ArrayList<>();
+        cenario.mix().forEach((operacao, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                sorteio.add(operacao);
+            }
+        });
+
+        System.out.printf("Aquecimento de %ds a %d req/s%n", cenario.aquecimento().toSeconds(), cenario.taxa());
+        disparar(cenario.aquecimento(), sorteio, aleatorio);
+        aguardarPendentes();
+        medicoes.values().forEach(MedicaoEndpoint::zerar);
+
+        System.out.printf("Medição de %ds a %d req/s%n", cenario.duracao().toSeconds(), cenario.taxa());
+        Instant inicio = Instant.now();
+        disparar(cenario.duracao(), sorteio, aleatorio);
+        aguardarPendentes();
+        double segundos = Duration.between(inicio, Instant.now()).toNanos() / 1e9;
+
+        gravarRelatorio(inicio, segundos);
+    }
+
+    /**
+     * Modelo aberto: a n-ésima requisição sai no instante {@code n / taxa},
+     * e a latência é medida desse instante, não do envio efetivo.
+     */
+    private void disparar(Duration duracao, List<Operacao> sorteio, Random aleatorio) {
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / cenario.taxa();
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacao operacao = sorteio.get(aleatorio.nextInt(sorteio.size()));
+            MedicaoEndpoint medicao = medicoes.get(operacao);
+            if (pendentes.get() >= cenario.maxPendentes()) {
+                medicao.registrarFalha();
+                continue;
+            }
+            HttpRequest requisicao = requisicao(operacao, aleatorio);
+            long enviadaEm = previsto;
+            pendentes.incrementAndGet();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((resposta, erro) -> {
+                    if (erro == null) {
+                        medicao.registrar(resposta.statusCode(), System.nanoTime() - enviadaEm);
+                    } else {
+                        medicao.registrarFalha();
+                    }
+                    pendentes.decrementAndGet();
+                });
+        }
+    }
+
+    private HttpRequest requisicao(Operacao operacao, Random aleatorio) {
+        HttpRequest.Builder requisicao = switch (operacao) {
+            case CRIAR_ALUNO -> {
+                long cpf = proximoCpf.getAndIncrement();
+                yield HttpRequest.newBuilder(URI.create(base + "/api/alunos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"nome\":\"Aluno " + cpf + "\",\"cpf\":\"" + cpf + "\",\"email\":\"aluno" + cpf + "@exemplo.com\"}"));
+            }
+            case MATRICULAR -> HttpRequest.newBuilder(URI.create(base + "/api/turmas/"
+                    + turmas.get(aleatorio.nextInt(turmas.size())) + "/matricular/" + alunos.get(aleatorio.nextInt(alunos.size()))))
+                .POST(HttpRequest.BodyPublishers.noBody());
+            case LISTAR_TURMAS -> HttpRequest.newBuilder(URI.create(base + "/api/turmas?limit=50"
+                    + (turmas.size() > 50 ? "&after=" + turmas.get(aleatorio.nextInt(turmas.size() - 50)) : "")))
+                .GET();
+        };
+        return requisicao.timeout(TEMPO_MAXIMO_RESPOSTA).build();
+    }
+
+    private void aguardarPendentes() throws InterruptedException {
+        long limite = System.nanoTime() + TEMPO_MAXIMO_RESPOSTA.toNanos();
+        while (pendentes.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void gravarRelatorio(Instant inicio, double segundos) {
+        Map<String, MedicaoEndpoint.Resultado> endpoints = new LinkedHashMap<>();
+        medicoes.forEach((operacao, medicao) -> {
+            if (cenario.mix().containsKey(operacao)) {
+                endpoints.put(operacao.endpoint(), medicao.resultado(segundos));
+            }
+        });
+        Relatorio relatorio = new Relatorio(cenario, inicio, segundos, endpoints);
+
+        File arquivo = new File(cenario.relatorio());
+        if (arquivo.getParentFile() != null) {
+            arquivo.getParentFile().mkdirs();
+        }
+        JSON.writerWithDefaultPrettyPrinter().writeValue(arquivo, relatorio);
+
+        endpoints.forEach((endpoint, resultado) -> System.out.printf(
+            "%-50s %8d req %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  erros %6.2f%%%n",
+            endpoint, resultado.requisicoes(), resultado.vazao(), resultado.latenciaMs().p50(),
+            resultado.latenciaMs().p99(), resultado.latenciaMs().p999(), resultado.taxaErros() * 100));
+        System.out.println("Relatório gravado em " + arquivo.getAbsolutePath());
+    }
+
+    record Relatorio(CenarioCarga cenario, Instant inicio, double duracaoSegundos, Map<String, MedicaoEndpoint.Resultado> endpoints) {
+    }
+}
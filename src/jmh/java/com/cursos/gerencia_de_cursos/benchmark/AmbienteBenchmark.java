@@ -0,0 +1,119 @@
+package com.cursos.gerencia_de_cursos.benchmark;
+
+import com.cursos.gerencia_de_cursos.GerenciaDeCursosApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe a aplicação (sem servidor web) sobre um H2 em memória e popula o banco
+ * com volumes proporcionais ao número de alunos: uma turma para cada 40
+ * alunos, todas lotadas, e cursos e professores compartilhados entre elas.
+ */
+final class AmbienteBenchmark {
+
+    static final int ALUNOS_POR_TURMA = 40;
+
+    private AmbienteBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String nomeBanco, int alunos) {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GerenciaDeCursosApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:" + nomeBanco + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN")
+            .run();
+        popular(contexto.getBean(JdbcTemplate.class), alunos);
+        return contexto;
+    }
+
+    /**
+     * Mapeador Jackson da aplicação ({@code JsonMapper} ou {@code CBORMapper}),
+     * montado pela mesma autoconfiguração e propriedades, sem subir o banco.
+     */
+    static <T extends ObjectMapper> T mapeador(Class<T> tipo) {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "spring.main.log-startup-info=false")
+                .run()) {
+            return contexto.getBean(tipo);
+        }
+    }
+
+    static int turmas(int alunos) {
+        return Math.max(1, alunos / ALUNOS_POR_TURMA);
+    }
+
+    private static void popular(JdbcTemplate jdbc, int alunos) {
+        int cursos = 200;
+        int professores = 500;
+        int turmas = turmas(alunos);
+
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 1; i <= cursos; i++) {
+            linhas.add(new Object[] {(long) i, "Curso " + i, "Descrição detalhada do curso " + i + " ".repeat(10) + "com ementa, objetivos e bibliografia.", 20 + i % 80});
+        }
+        jdbc.batchUpdate("insert into curso (id, nome, descricao, carga_horaria) values (?, ?, ?, ?)", linhas);
+
+        linhas.clear();
+        for (int i = 1; i <= professores; i++) {
+            linhas.add(new Object[] {(long) i, "Professor " + i, "Área " + i % 30, "Currículo ".repeat(45)});
+        }
+        jdbc.batchUpdate("insert into professor (id, nome, area_especializacao, curriculo) values (?, ?, ?, ?)", linhas);
+
+        linhas.clear();
+        for (int i = 1; i <= alunos; i++) {
+            linhas.add(new Object[] {(long) i, "Aluno " + i, cpf(i), "aluno" + i + "@exemplo.com"});
+            if (linhas.size() == 5000) {
+                jdbc.batchUpdate("insert into aluno (id, nome, cpf, email) values (?, ?, ?, ?)", linhas);
+                linhas.clear();
+            }
+        }
+        jdbc.batchUpdate("insert into aluno (id, nome, cpf, email) values (?, ?, ?, ?)", linhas);
+
+        linhas.clear();
+        LocalDate inicio = LocalDate.of(2020, 2, 1);
+        for (int i = 1; i <= turmas; i++) {
+            LocalDate dataInicio = inicio.plusWeeks(i % 300);
+            linhas.add(new Object[] {(long) i, codigoTurma(i), dataInicio, dataInicio.plusMonths(4),
+                ALUNOS_POR_TURMA, ALUNOS_POR_TURMA, (long) (1 + i % cursos), (long) (1 + i % professores)});
+        }
+        jdbc.batchUpdate("insert into turma (id, codigo_turma, data_inicio, data_fim, capacidade, vagas_ocupadas, curso_id, professor_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)", linhas);
+
+        linhas.clear();
+        for (int turma = 1; turma <= turmas; turma++) {
+            for (int j = 0; j < ALUNOS_POR_TURMA && (turma - 1) * ALUNOS_POR_TURMA + j < alunos; j++) {
+                linhas.add(new Object[] {(long) turma, (long) ((turma - 1) * ALUNOS_POR_TURMA + j + 1)});
+            }
+            if (linhas.size() >= 5000) {
+                jdbc.batchUpdate("insert into turma_aluno (turma_id, aluno_id) values (?, ?)", linhas);
+                linhas.clear();
+            }
+        }
+        jdbc.batchUpdate("insert into turma_aluno (turma_id, aluno_id) values (?, ?)", linhas);
+
+        for (String tabela : List.of("curso", "professor", "aluno", "turma")) {
+            Long proximo = jdbc.queryForObject("select max(id) + 1 from " + tabela, Long.class);
+            jdbc.execute("alter table " + tabela + " alter column id restart with " + proximo);
+        }
+    }
+
+    static String cpf(int aluno) {
+        return String.format("%011d", aluno);
+    }
+
+    static String codigoTurma(int turma) {
+        return String.format("T-%06d", turma);
+    }
+}
@@ -0,0 +1,119 @@
+package com.cursos.gerencia_de_cursos.benchmark;
+
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compara os formatos de resposta negociáveis (JSON e CBOR, com e sem gzip)
+ * nas páginas de turmas completas e de alunos, com os mapeadores
+ * configurados como na aplicação: o tempo de CPU vem das medições do JMH e o
+ * tamanho de cada carga sai no log da preparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoRespostaBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(FormatoRespostaBenchmark.class);
+
+    @Param({"json", "cbor", "json-gzip", "cbor-gzip"})
+    public String formato;
+
+    @Param({"50", "500"})
+    public int tamanhoPagina;
+
+    private ObjectMapper mapper;
+    private boolean comprimir;
+    private Pagina<Turma> turmas;
+    private Pagina<Aluno> alunos;
+
+    @Setup
+    public void preparar() {
+        mapper = formato.startsWith("cbor") ? AmbienteBenchmark.mapeador(CBORMapper.class) : AmbienteBenchmark.mapeador(JsonMapper.class);
+        comprimir = formato.endsWith("gzip");
+
+        List<Turma> listaTurmas = new ArrayList<>();
+        List<Aluno> listaAlunos = new ArrayList<>();
+        for (int i = 1; i <= tamanhoPagina; i++) {
+            Curso curso = new Curso((long) i, 0L, "Curso " + i, "Descrição detalhada do curso " + i + " com ementa e bibliografia.", 60);
+            Professor professor = new Professor((long) i, 0L, "Professor " + i, "Computação", "Currículo ".repeat(45));
+            LocalDate inicio = LocalDate.of(2025, 2, 1);
+
+            Turma turma = new Turma();
+            turma.setId((long) i);
+            turma.setVersao(0L);
+            turma.setCodigoTurma(AmbienteBenchmark.codigoTurma(i));
+            turma.setDataInicio(inicio);
+            turma.setDataFim(inicio.plusMonths(4));
+            turma.setCapacidade(AmbienteBenchmark.ALUNOS_POR_TURMA);
+            turma.setVagasOcupadas(AmbienteBenchmark.ALUNOS_POR_TURMA);
+            turma.setCurso(curso);
+            turma.setProfessor(professor);
+            turma.setAlunos(new HashSet<>());
+            listaTurmas.add(turma);
+
+            listaAlunos.add(new Aluno((long) i, 0L, "Aluno " + i, AmbienteBenchmark.cpf(i), "aluno" + i + "@exemplo.com"));
+        }
+        turmas = new Pagina<>(listaTurmas, (long) tamanhoPagina);
+        alunos = new Pagina<>(listaAlunos, (long) tamanhoPagina);
+
+        log.info("[{}, {} itens] turmas: {} bytes, alunos: {} bytes",
+            formato, tamanhoPagina, turmasCompletas().length, alunos().length);
+    }
+
+    @Benchmark
+    public byte[] turmasCompletas() {
+        return codificar(turmas);
+    }
+
+    @Benchmark
+    public byte[] alunos() {
+        return codificar(alunos);
+    }
+
+    private byte[] codificar(Object pagina) {
+        byte[] corpo = mapper.writeValueAsBytes(pagina);
+        if (!comprimir) {
+            return corpo;
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
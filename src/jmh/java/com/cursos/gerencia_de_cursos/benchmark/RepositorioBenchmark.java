@@ -0,0 +1,116 @@
+package com.cursos.gerencia_de_cursos.benchmark;
+
+import com.cursos.gerencia_de_cursos.dto.FiltroTurma;
+import com.cursos.gerencia_de_cursos.dto.TurmaResumo;
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de repositório usadas pelos controllers, medidas sobre o banco
+ * populado por {@link AmbienteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    private static final Limit PAGINA = Limit.of(51);
+    private static final FiltroTurma SEM_FILTRO = new FiltroTurma(null, null, null, null);
+
+    @Param({"100000"})
+    public int alunos;
+
+    private ConfigurableApplicationContext contexto;
+    private AlunoRepository alunoRepository;
+    private TurmaRepository turmaRepository;
+    private CursoRepository cursoRepository;
+    private TransactionTemplate transactionTemplate;
+    private int turmas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = AmbienteBenchmark.iniciar("repositorio", alunos);
+        alunoRepository = contexto.getBean(AlunoRepository.class);
+        turmaRepository = contexto.getBean(TurmaRepository.class);
+        cursoRepository = contexto.getBean(CursoRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        turmas = AmbienteBenchmark.turmas(alunos);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Aluno> findByCpf() {
+        return alunoRepository.findByCpf(AmbienteBenchmark.cpf(1 + ThreadLocalRandom.current().nextInt(alunos)));
+    }
+
+    @Benchmark
+    public Optional<Turma> findByCodigoTurma() {
+        return turmaRepository.findByCodigoTurma(AmbienteBenchmark.codigoTurma(1 + ThreadLocalRandom.current().nextInt(turmas)));
+    }
+
+    @Benchmark
+    public List<Curso> findAllCursos() {
+        return cursoRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Aluno> paginaDeAlunos() {
+        return alunoRepository.findByIdGreaterThanOrderByIdAsc((long) ThreadLocalRandom.current().nextInt(alunos), PAGINA);
+    }
+
+    @Benchmark
+    public List<TurmaResumo> paginaDeTurmasResumo() {
+        return turmaRepository.buscarResumosPorFiltro(SEM_FILTRO, (long) ThreadLocalRandom.current().nextInt(turmas), PAGINA);
+    }
+
+    @Benchmark
+    public List<Turma> paginaDeTurmasComAlunos() {
+        return transactionTemplate.execute(status -> {
+            List<Turma> pagina = turmaRepository.buscarPorFiltro(SEM_FILTRO, (long) ThreadLocalRandom.current().nextInt(turmas), PAGINA);
+            if (!pagina.isEmpty()) {
+                turmaRepository.carregarAlunos(pagina.stream().map(Turma::getId).toList());
+            }
+            return pagina;
+        });
+    }
+
+    @Benchmark
+    public int turmaComAlunos() {
+        return transactionTemplate.execute(status -> turmaRepository
+            .findById((long) (1 + ThreadLocalRandom.current().nextInt(turmas)))
+            .map(turma -> turma.getAlunos().size())
+            .orElse(0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.cursos.gerencia_de_cursos.benchmark;
+
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.TurmaResumo;
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson das respostas das listagens: páginas de turmas
+ * completas (com curso e professor embutidos), de resumos e de alunos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"50", "500"})
+    public int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Pagina<Turma> turmas;
+    private Pagina<TurmaResumo> resumos;
+    private Pagina<Aluno> alunos;
+
+    @Setup
+    public void preparar() {
+        objectMapper = AmbienteBenchmark.mapeador(JsonMapper.class);
+
+        List<Turma> listaTurmas = new ArrayList<>();
+        List<TurmaResumo> listaResumos = new ArrayList<>();
+        List<Aluno> listaAlunos = new ArrayList<>();
+        for (int i = 1; i <= tamanhoPagina; i++) {
+            Curso curso = new Curso((long) i, 0L, "Curso " + i, "Descrição detalhada do curso " + i + " com ementa e bibliografia.", 60);
+            Professor professor = new Professor((long) i, 0L, "Professor " + i, "Computação", "Currículo ".repeat(45));
+            LocalDate inicio = LocalDate.of(2025, 2, 1);
+
+            Turma turma = new Turma();
+            turma.setId((long) i);
+            turma.setCodigoTurma(AmbienteBenchmark.codigoTurma(i));
+            turma.setDataInicio(inicio);
+            turma.setDataFim(inicio.plusMonths(4));
+            turma.setCapacidade(AmbienteBenchmark.ALUNOS_POR_TURMA);
+            turma.setVagasOcupadas(AmbienteBenchmark.ALUNOS_POR_TURMA);
+            turma.setCurso(curso);
+            turma.setProfessor(professor);
+            turma.setAlunos(new HashSet<>());
+            listaTurmas.add(turma);
+
+            listaResumos.add(new TurmaResumo(turma.getId(), turma.getCodigoTurma(), inicio, turma.getDataFim(),
+                turma.getCapacidade(), turma.getVagasOcupadas(), curso.getId(), curso.getNome(), professor.getId(), professor.getNome()));
+            listaAlunos.add(new Aluno((long) i, 0L, "Aluno " + i, AmbienteBenchmark.cpf(i), "aluno" + i + "@exemplo.com"));
+        }
+        turmas = new Pagina<>(listaTurmas, (long) tamanhoPagina);
+        resumos = new Pagina<>(listaResumos, (long) tamanhoPagina);
+        alunos = new Pagina<>(listaAlunos, (long) tamanhoPagina);
+    }
+
+    @Benchmark
+    public byte[] turmasCompletas() {
+        return objectMapper.writeValueAsBytes(turmas);
+    }
+
+    @Benchmark
+    public byte[] turmasResumo() {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+
+    @Benchmark
+    public byte[] alunos() {
+        return objectMapper.writeValueAsBytes(alunos);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "gerencia.bulkhead", name = "habilitado", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean
+    public FilterRegistrationBean<LimiteConcorrenciaFilter> limiteConcorrenciaFilter(BulkheadProperties propriedades) {
+        FilterRegistrationBean<LimiteConcorrenciaFilter> registro =
+            new FilterRegistrationBean<>(new LimiteConcorrenciaFilter(propriedades));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -0,0 +1,14 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limite de requisições da API atendidas ao mesmo tempo. Com threads virtuais
+ * o número de requisições simultâneas deixa de ser limitado pelo pool do
+ * Tomcat; o limite mantém a fila de espera fora do pool de conexões.
+ */
+@ConfigurationProperties(prefix = "gerencia.bulkhead")
+public record BulkheadProperties(boolean habilitado, int maxConcorrencia, Duration esperaMaxima) {
+}
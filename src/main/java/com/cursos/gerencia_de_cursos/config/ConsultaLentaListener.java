@@ -0,0 +1,46 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+public class ConsultaLentaListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaLentaListener.class);
+
+    private final long limiarMillis;
+    private final double amostragemLog;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConsultaLentaListener(SqlMetricasProperties propriedades, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.limiarMillis = propriedades.limiarConsultaLenta().toMillis();
+        this.amostragemLog = propriedades.amostragemLog();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < limiarMillis) {
+            return;
+        }
+        meterRegistry.ifAvailable(registry -> registry.counter("gerencia.sql.consultas.lentas").increment());
+        if (ThreadLocalRandom.current().nextDouble() < amostragemLog) {
+            log.warn("Consulta lenta ({} ms, lote de {}): {}",
+                execInfo.getElapsedTime(),
+                execInfo.getBatchSize(),
+                queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+}
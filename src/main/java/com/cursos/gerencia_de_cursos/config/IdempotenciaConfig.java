@@ -0,0 +1,18 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import com.cursos.gerencia_de_cursos.service.IdempotenciaService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(IdempotenciaService idempotenciaService) {
+        FilterRegistrationBean<IdempotenciaFilter> registro =
+            new FilterRegistrationBean<>(new IdempotenciaFilter(idempotenciaService));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -0,0 +1,191 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import com.cursos.gerencia_de_cursos.model.RequisicaoIdempotente;
+import com.cursos.gerencia_de_cursos.service.IdempotenciaService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Repetições de uma gravação com o mesmo cabeçalho {@code Idempotency-Key}
+ * recebem a resposta da primeira execução (status, tipo, corpo e os cabeçalhos
+ * {@code Location} e {@code ETag}) sem executá-la de novo. A chave vale para
+ * um método, caminho e corpo: reutilizá-la com outra requisição responde 422.
+ * Respostas 5xx não são guardadas, para que a repetição tente outra vez. A
+ * importação de alunos fica de fora por ser um fluxo.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO = "Idempotency-Key";
+    static final String CABECALHO_REPETICAO = "Idempotency-Replayed";
+
+    private static final Set<String> METODOS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private final IdempotenciaService idempotenciaService;
+
+    public IdempotenciaFilter(IdempotenciaService idempotenciaService) {
+        this.idempotenciaService = idempotenciaService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(CABECALHO) == null
+            || !METODOS.contains(request.getMethod())
+            || request.getRequestURI().endsWith("/importacao");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String chave = request.getHeader(CABECALHO).trim();
+        if (chave.isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "A chave de idempotência deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+            return;
+        }
+
+        CorpoLido requisicao = new CorpoLido(request);
+        String hashCorpo = HexFormat.of().formatHex(sha256(requisicao.corpo));
+        Optional<String> reserva = idempotenciaService.reservar(chave, request.getMethod(), request.getRequestURI(), hashCorpo);
+        if (reserva.isEmpty()) {
+            repetir(chave, hashCorpo, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        ScheduledFuture<?> renovacao = idempotenciaService.manterReserva(chave, reserva.get());
+        boolean concluida = false;
+        try {
+            filterChain.doFilter(requisicao, resposta);
+            if (resposta.getStatus() < 500) {
+                idempotenciaService.concluir(chave, reserva.get(), resposta.getStatus(), resposta.getContentType(),
+                    resposta.getContentAsByteArray(), resposta.getHeader(HttpHeaders.LOCATION), resposta.getHeader(HttpHeaders.ETAG));
+                concluida = true;
+            }
+        } finally {
+            renovacao.cancel(false);
+            if (!concluida) {
+                idempotenciaService.liberar(chave, reserva.get());
+            }
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private void repetir(String chave, String hashCorpo, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<RequisicaoIdempotente> registrada = idempotenciaService.buscar(chave);
+        if (registrada.isEmpty()) {
+            response.sendError(HttpStatus.CONFLICT.value(), "Uma requisição com esta chave de idempotência ainda está em andamento.");
+            return;
+        }
+        RequisicaoIdempotente anterior = registrada.get();
+        if (!anterior.getMetodo().equals(request.getMethod()) || !anterior.getCaminho().equals(request.getRequestURI())
+                || (anterior.getHashCorpo() != null && !anterior.getHashCorpo().equals(hashCorpo))) {
+            response.sendError(HttpStatus.UNPROCESSABLE_CONTENT.value(), "A chave de idempotência já foi usada em outra requisição.");
+            return;
+        }
+        if (anterior.getStatus() == null) {
+            response.sendError(HttpStatus.CONFLICT.value(), "Uma requisição com esta chave de idempotência ainda está em andamento.");
+            return;
+        }
+        response.setStatus(anterior.getStatus());
+        response.setHeader(CABECALHO_REPETICAO, "true");
+        if (anterior.getLocalizacao() != null) {
+            response.setHeader(HttpHeaders.LOCATION, anterior.getLocalizacao());
+        }
+        if (anterior.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, anterior.getEtag());
+        }
+        if (anterior.getTipoConteudo() != null) {
+            response.setContentType(anterior.getTipoConteudo());
+        }
+        if (anterior.getCorpo() != null) {
+            response.getOutputStream().write(anterior.getCorpo());
+        }
+    }
+
+    private static byte[] sha256(byte[] dados) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(dados);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Requisição cujo corpo já foi lido (para o hash) e é entregue de novo ao
+     * restante da cadeia. As gravações cobertas pelo filtro têm corpos JSON
+     * pequenos.
+     */
+    private static final class CorpoLido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLido(HttpServletRequest request) throws IOException {
+            super(request);
+            this.corpo = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // O corpo inteiro já está na memória: tudo está disponível de uma vez
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String codificacao = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), codificacao));
+        }
+    }
+}
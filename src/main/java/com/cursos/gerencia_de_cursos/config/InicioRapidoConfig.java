@@ -0,0 +1,34 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import com.cursos.gerencia_de_cursos.service.ArquivamentoService;
+import com.cursos.gerencia_de_cursos.service.EstatisticaService;
+import com.cursos.gerencia_de_cursos.service.IdempotenciaService;
+import com.cursos.gerencia_de_cursos.service.IndiceBuscaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Perfil {@code inicio-rapido} (application-inicio-rapido.properties): os beans
+ * são criados sob demanda, exceto os que precisam existir desde o início.
+ * Tarefas agendadas só são registradas quando o bean é criado, e o Hibernate
+ * é inicializado antes de a instância receber tráfego, para que o custo não
+ * recaia sobre a primeira requisição.
+ */
+@Configuration
+@Profile("inicio-rapido")
+public class InicioRapidoConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter beansIniciadosNaPartida() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            EntityManagerFactory.class,
+            ArquivamentoService.class,
+            EstatisticaService.class,
+            IdempotenciaService.class,
+            IndiceBuscaService.class,
+            RoteadorReplicas.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Mantém no primário as leituras que precisam enxergar gravações recentes:
+ * as de requisições de escrita (que leem antes de gravar) e as do mesmo
+ * cliente durante uma janela curta após uma escrita, marcada por um cookie.
+ */
+public class LeituraPropriaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "leitura-primario";
+
+    private final Duration janela;
+
+    public LeituraPropriaFilter(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean escrita = !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()) || "OPTIONS".equals(request.getMethod()));
+        if (escrita) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + janela.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, janela.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!escrita && !dentroDaJanela(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            RoteadorReplicas.noPrimario(() -> filterChain.doFilter(request, response));
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private static boolean dentroDaJanela(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead das rotas da API: no máximo {@code maxConcorrencia} requisições são
+ * processadas ao mesmo tempo e as demais esperam até {@code esperaMaxima} por
+ * uma vaga antes de receberem 503.
+ */
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaNanos;
+
+    public LimiteConcorrenciaFilter(BulkheadProperties propriedades) {
+        this.permissoes = new Semaphore(propriedades.maxConcorrencia(), true);
+        this.esperaMaximaNanos = propriedades.esperaMaxima().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean adquirida;
+        try {
+            adquirida = permissoes.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirida = false;
+        }
+        if (!adquirida) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor sobrecarregado, tente novamente.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    int permissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Instrumentação da camada de dados: o {@link DataSource} é envolvido por um
+ * proxy que conta as instruções SQL por thread e registra as consultas lentas,
+ * e um interceptor publica as métricas por método de controller. O tempo até
+ * a primeira requisição atendida também é publicado.
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricasConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public static BeanPostProcessor instrumentacaoDataSource(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SqlMetricasProperties propriedades = Binder.get(environment)
+                    .bind("gerencia.sql", SqlMetricasProperties.class)
+                    .orElse(new SqlMetricasProperties(Duration.ofMillis(200), 1.0));
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .countQuery()
+                    .listener(new ConsultaLentaListener(propriedades, meterRegistry))
+                    .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimeiraRequisicaoFilter> primeiraRequisicaoFilter() {
+        FilterRegistrationBean<PrimeiraRequisicaoFilter> registro =
+            new FilterRegistrationBean<>(new PrimeiraRequisicaoFilter(meterRegistry));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+
+    /**
+     * O feed de alterações fica de fora: a duração de uma assinatura SSE não é
+     * latência de requisição e a conexão aberta não executa SQL.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(r -> registry.addInterceptor(new MetricasEndpointInterceptor(r))
+            .addPathPatterns("/api/**")
+            .excludePathPatterns("/api/alteracoes/**"));
+    }
+
+    /**
+     * Nas respostas assíncronas o interceptor também acompanha a tarefa que
+     * roda fora da thread da requisição, para contar o SQL executado nela.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        meterRegistry.ifAvailable(r -> configurer.registerCallableInterceptors(new MetricasEndpointInterceptor(r)));
+    }
+}
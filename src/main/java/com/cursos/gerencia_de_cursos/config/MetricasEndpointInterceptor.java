@@ -0,0 +1,119 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Registra, para cada método de controller, a latência da requisição e o
+ * número e o tempo das instruções SQL executadas durante ela.
+ *
+ * <p>O contador de SQL do proxy do {@code DataSource} é por thread. Numa
+ * requisição assíncrona (a exportação NDJSON, por exemplo) o trabalho se
+ * divide entre a thread da requisição, a tarefa assíncrona, onde o
+ * interceptor também atua como {@link CallableProcessingInterceptor}, e o
+ * despacho final. Cada parte soma as suas instruções num atributo da
+ * requisição, e as métricas são publicadas uma vez, no fim do despacho
+ * final, com a latência contada desde o primeiro.
+ */
+public class MetricasEndpointInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String INICIO = MetricasEndpointInterceptor.class.getName() + ".inicio";
+    private static final String SQL_INSTRUCOES = MetricasEndpointInterceptor.class.getName() + ".sqlInstrucoes";
+    private static final String SQL_TEMPO = MetricasEndpointInterceptor.class.getName() + ".sqlTempo";
+    private static final double[] PERCENTIS = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+
+    public MetricasEndpointInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.clear();
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(INICIO, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        acumular(request::getAttribute, request::setAttribute);
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        QueryCountHolder.clear();
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        acumular(nome -> request.getAttribute(nome, RequestAttributes.SCOPE_REQUEST),
+            (nome, valor) -> request.setAttribute(nome, valor, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object inicio = request.getAttribute(INICIO);
+        if (!(handler instanceof HandlerMethod metodo) || !(inicio instanceof Long nanos)) {
+            return;
+        }
+        acumular(request::getAttribute, request::setAttribute);
+        String nome = metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        String status = String.valueOf(response.getStatus());
+
+        Timer.builder("gerencia.endpoint.latencia")
+            .description("Latência das requisições por método de controller")
+            .tags("metodo", nome, "status", status)
+            .publishPercentiles(PERCENTIS)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(System.nanoTime() - nanos, TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder("gerencia.endpoint.sql.instrucoes")
+            .description("Instruções SQL executadas por requisição")
+            .tag("metodo", nome)
+            .publishPercentiles(PERCENTIS)
+            .register(registry)
+            .record((Long) request.getAttribute(SQL_INSTRUCOES));
+        Timer.builder("gerencia.endpoint.sql.tempo")
+            .description("Tempo gasto em JDBC por requisição")
+            .tag("metodo", nome)
+            .publishPercentiles(PERCENTIS)
+            .register(registry)
+            .record((Long) request.getAttribute(SQL_TEMPO), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Soma aos atributos da requisição o que a thread atual executou e zera o
+     * contador dela.
+     */
+    private static void acumular(Function<String, Object> leitura,
+                                 BiConsumer<String, Object> escrita) {
+        QueryCount consultas = QueryCountHolder.getGrandTotal();
+        escrita.accept(SQL_INSTRUCOES, valor(leitura.apply(SQL_INSTRUCOES)) + consultas.getTotal());
+        escrita.accept(SQL_TEMPO, valor(leitura.apply(SQL_TEMPO)) + consultas.getTime());
+        QueryCountHolder.clear();
+    }
+
+    private static long valor(Object atributo) {
+        return atributo instanceof Long numero ? numero : 0L;
+    }
+}
@@ -0,0 +1,52 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mede o tempo entre o início da JVM e o fim da primeira requisição da API
+ * atendida, publicado como {@code gerencia.inicio.primeira.requisicao}. É o
+ * tempo que uma instância nova leva para começar a trabalhar de fato.
+ */
+public class PrimeiraRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimeiraRequisicaoFilter.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final AtomicBoolean medida = new AtomicBoolean();
+
+    public PrimeiraRequisicaoFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return medida.get();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (medida.compareAndSet(false, true)) {
+            long milissegundos = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            log.info("Primeira requisição atendida {} ms após o início da JVM", milissegundos);
+            meterRegistry.ifAvailable(r -> TimeGauge.builder("gerencia.inicio.primeira.requisicao", () -> milissegundos, TimeUnit.MILLISECONDS)
+                .description("Tempo entre o início da JVM e a primeira requisição da API atendida")
+                .register(r));
+        }
+    }
+}
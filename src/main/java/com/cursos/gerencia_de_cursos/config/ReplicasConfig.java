@@ -0,0 +1,72 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roteamento das transações somente leitura para réplicas, ativado quando
+ * {@code gerencia.datasource.replicas[0].url} está configurada. O
+ * {@code DataSource} da aplicação passa a ser montado aqui: o primário com as
+ * propriedades {@code spring.datasource.*} e uma conexão preguiçosa que só
+ * escolhe o destino quando a transação já declarou se é somente leitura.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicasProperties.class)
+@ConditionalOnProperty(name = "gerencia.datasource.replicas[0].url")
+public class ReplicasConfig {
+
+    private final ReplicasProperties propriedades;
+
+    public ReplicasConfig(ReplicasProperties propriedades) {
+        this.propriedades = propriedades;
+    }
+
+    @Bean
+    public RoteadorReplicas roteadorReplicas(DataSourceProperties dataSourceProperties, Environment environment) {
+        HikariDataSource primario = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+
+        List<RoteadorReplicas.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < propriedades.replicas().size(); i++) {
+            ReplicasProperties.Replica replica = propriedades.replicas().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.url())
+                .username(replica.username())
+                .password(replica.password())
+                .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setMaximumPoolSize(replica.tamanhoPool());
+            dataSource.setReadOnly(true);
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(new RoteadorReplicas.Replica("replica-" + i, dataSource));
+        }
+        return new RoteadorReplicas(primario, replicas);
+    }
+
+    @Bean
+    public DataSource dataSource(RoteadorReplicas roteadorReplicas) {
+        return roteadorReplicas.dataSource();
+    }
+
+    @Bean
+    public FilterRegistrationBean<LeituraPropriaFilter> leituraPropriaFilter() {
+        FilterRegistrationBean<LeituraPropriaFilter> registro =
+            new FilterRegistrationBean<>(new LeituraPropriaFilter(propriedades.janelaLeituraPropria()));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de leitura do banco. {@code verificacaoReplicas} é o intervalo da
+ * verificação de saúde e {@code janelaLeituraPropria} o tempo, após uma
+ * gravação, em que as leituras do mesmo cliente continuam no primário.
+ */
+@ConfigurationProperties(prefix = "gerencia.datasource")
+public record ReplicasProperties(
+        List<Replica> replicas,
+        @DefaultValue("5s") Duration verificacaoReplicas,
+        @DefaultValue("5s") Duration janelaLeituraPropria) {
+
+    public record Replica(String url, String username, String password, @DefaultValue("10") int tamanhoPool) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui as transações somente leitura entre as réplicas disponíveis, em
+ * rodízio, e usa o primário quando nenhuma responde ou quando a requisição
+ * atual pediu para ler do primário (ver {@link LeituraPropriaFilter}).
+ *
+ * <p>Uma réplica que falha ao entregar conexão sai do rodízio na hora e só
+ * volta quando {@link #verificar()} consegue validar uma conexão dela.
+ */
+public class RoteadorReplicas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteadorReplicas.class);
+
+    private static final ThreadLocal<Boolean> FORCAR_PRIMARIO = new ThreadLocal<>();
+
+    static final class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel = true;
+
+        Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        boolean disponivel() {
+            return disponivel;
+        }
+    }
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final DataSource leitura = new AbstractDataSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return conexaoDeLeitura();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return conexaoDeLeitura();
+        }
+    };
+
+    RoteadorReplicas(DataSource primario, List<Replica> replicas) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    /**
+     * DataSource da aplicação: as conexões só são obtidas no primeiro comando
+     * SQL, quando já se sabe se a transação é somente leitura.
+     */
+    DataSource dataSource() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+        proxy.setReadOnlyDataSource(leitura);
+        return proxy;
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Executa {@code acao} com as leituras desta thread direcionadas ao primário.
+     */
+    static void noPrimario(AcaoComExcecao acao) throws Exception {
+        Boolean anterior = FORCAR_PRIMARIO.get();
+        FORCAR_PRIMARIO.set(Boolean.TRUE);
+        try {
+            acao.executar();
+        } finally {
+            if (anterior == null) {
+                FORCAR_PRIMARIO.remove();
+            } else {
+                FORCAR_PRIMARIO.set(anterior);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface AcaoComExcecao {
+        void executar() throws Exception;
+    }
+
+    private Connection conexaoDeLeitura() throws SQLException {
+        if (Boolean.TRUE.equals(FORCAR_PRIMARIO.get())) {
+            return primario.getConnection();
+        }
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (!replica.disponivel) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.disponivel = false;
+                log.warn("Réplica {} indisponível; leituras seguem para as demais ou para o primário", replica.nome, e);
+            }
+        }
+        return primario.getConnection();
+    }
+
+    /**
+     * Valida uma conexão de cada réplica e atualiza o rodízio.
+     */
+    @Scheduled(fixedDelayString = "${gerencia.datasource.verificacao-replicas:5s}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            boolean disponivel;
+            try (Connection conexao = replica.dataSource.getConnection()) {
+                disponivel = conexao.isValid(1);
+            } catch (SQLException e) {
+                disponivel = false;
+            }
+            if (disponivel != replica.disponivel) {
+                log.info("Réplica {} {}", replica.nome, disponivel ? "voltou ao rodízio" : "saiu do rodízio");
+            }
+            replica.disponivel = disponivel;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+        if (primario instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
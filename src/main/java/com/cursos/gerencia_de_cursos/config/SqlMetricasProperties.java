@@ -0,0 +1,14 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Registro de consultas lentas: toda consulta acima de {@code limiarConsultaLenta}
+ * é contada na métrica {@code gerencia.sql.consultas.lentas} e uma fração
+ * {@code amostragemLog} delas é escrita no log.
+ */
+@ConfigurationProperties(prefix = "gerencia.sql")
+public record SqlMetricasProperties(Duration limiarConsultaLenta, double amostragemLog) {
+}
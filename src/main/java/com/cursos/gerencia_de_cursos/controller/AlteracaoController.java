@@ -0,0 +1,33 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.service.FeedAlteracoesService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/alteracoes")
+public class AlteracaoController {
+
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+
+    /**
+     * Feed SSE das alterações gravadas. Só traz as gravações atendidas por
+     * esta instância: atrás de um balanceador, alterações feitas em outra
+     * instância não aparecem, e uma retomada ({@code desde} ou
+     * {@code Last-Event-ID}) que cai em outra instância recebe {@code lacuna}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(
+            @RequestParam(required = false) String desde,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        return feedAlteracoesService.assinar(ultimoEvento != null ? ultimoEvento : desde);
+    }
+}
@@ -1,18 +1,30 @@
 package com.cursos.gerencia_de_cursos.controller;
 
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.TipoRegistro;
 import com.cursos.gerencia_de_cursos.model.Aluno;
 import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.service.FeedAlteracoesService;
+import com.cursos.gerencia_de_cursos.service.ImportacaoAlunoService;
+import com.cursos.gerencia_de_cursos.service.IndiceBuscaService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @RestController
 @RequestMapping("/api/alunos")
@@ -20,39 +32,78 @@ public class AlunoController {
 
     @Autowired
     private AlunoRepository alunoRepository;
+    @Autowired
+    private ImportacaoAlunoService importacaoAlunoService;
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
+    /**
+     * CPF repetido é detectado pela restrição única na inserção.
+     */
     @PostMapping
     public ResponseEntity<Aluno> criarAluno(@Valid @RequestBody Aluno novoAluno) {
-        
-        if (alunoRepository.findByCpf(novoAluno.getCpf()).isPresent()) {
-            throw new ResponseStatusException(
-                HttpStatus.CONFLICT,
-                "CPF já cadastrado no sistema."
-            );
-        }
-        
         Aluno alunoSalvo = alunoRepository.save(novoAluno);
+        indiceBuscaService.indexar(alunoSalvo);
+        feedAlteracoesService.publicar("aluno", FeedAlteracoesService.CRIADO, alunoSalvo.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(alunoSalvo);
     }
 
+    @PostMapping(value = "/importacao", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    public void importarAlunos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportacaoAlunoService.Formato formato = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+            ? ImportacaoAlunoService.Formato.NDJSON
+            : ImportacaoAlunoService.Formato.CSV;
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream saida = response.getOutputStream();
+
+        importacaoAlunoService.importar(request.getInputStream(), formato, evento -> {
+            try {
+                saida.write(objectMapper.writeValueAsBytes(evento));
+                saida.write('\n');
+                if (!"erro".equals(evento.tipo())) {
+                    saida.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @GetMapping
-    public ResponseEntity<List<Aluno>> listarTodos() {
-        List<Aluno> alunos = StreamSupport.stream(alunoRepository.findAll().spliterator(), false)
-                                          .collect(Collectors.toList());
-        return ResponseEntity.ok(alunos);
+    public ResponseEntity<Pagina<Aluno>> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = Pagina.LIMITE_PADRAO) int limit) {
+        List<Aluno> alunos = alunoRepository.findByIdGreaterThanOrderByIdAsc(Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+        return ResponseEntity.ok(Pagina.de(alunos, limit, Aluno::getId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Aluno> buscarPorId(@PathVariable Long id) {
-        return alunoRepository.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Aluno> buscarPorId(@PathVariable Long id, WebRequest request) {
+        Aluno aluno = alunoRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não encontrado com ID: " + id));
+
+        String etag = ETags.de(aluno.getVersao());
+        if (ETags.naoModificado(request, etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(aluno);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Aluno> atualizarAluno(@PathVariable Long id, @Valid @RequestBody Aluno dadosAluno) {
+    public ResponseEntity<Aluno> atualizarAluno(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody Aluno dadosAluno) {
         return alunoRepository.findById(id).map(alunoExistente -> {
-            
+            ETags.verificarIfMatch(ifMatch, ETags.de(alunoExistente.getVersao()));
+
             if (!alunoExistente.getCpf().equals(dadosAluno.getCpf())) {
                 if (alunoRepository.findByCpf(dadosAluno.getCpf()).isPresent()) {
                     throw new ResponseStatusException(
@@ -67,7 +118,9 @@ public class AlunoController {
             alunoExistente.setEmail(dadosAluno.getEmail());
             
             Aluno alunoAtualizado = alunoRepository.save(alunoExistente);
-            return ResponseEntity.ok(alunoAtualizado);
+            indiceBuscaService.indexar(alunoAtualizado);
+            feedAlteracoesService.publicar("aluno", FeedAlteracoesService.ALTERADO, id);
+            return ResponseEntity.ok().eTag(ETags.de(alunoAtualizado.getVersao())).varyBy(HttpHeaders.ACCEPT).body(alunoAtualizado);
             
         }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não encontrado para atualização com ID: " + id));
     }
@@ -79,5 +132,7 @@ public class AlunoController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não encontrado para exclusão com ID: " + id);
         }
         alunoRepository.deleteById(id);
+        indiceBuscaService.remover(TipoRegistro.ALUNO, id);
+        feedAlteracoesService.publicar("aluno", FeedAlteracoesService.REMOVIDO, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.ResultadoBusca;
+import com.cursos.gerencia_de_cursos.dto.TipoRegistro;
+import com.cursos.gerencia_de_cursos.service.IndiceBuscaService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/busca")
+public class BuscaController {
+
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+
+    /**
+     * Busca paginada por posição: {@code offset} é quantos resultados pular, e
+     * o {@code proximoCursor} da resposta é o {@code offset} da página
+     * seguinte (não um id, como nas listagens com {@code after}).
+     */
+    @GetMapping
+    public ResponseEntity<Pagina<ResultadoBusca>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> tipo,
+            @RequestParam(required = false) Long offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        Set<TipoRegistro> tipos = tipo == null || tipo.isEmpty()
+            ? EnumSet.allOf(TipoRegistro.class)
+            : tipo.stream().map(TipoRegistro::de).collect(Collectors.toCollection(() -> EnumSet.noneOf(TipoRegistro.class)));
+        return ResponseEntity.ok(indiceBuscaService.buscar(q, tipos, offset, limit));
+    }
+}
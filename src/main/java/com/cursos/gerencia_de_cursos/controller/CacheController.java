@@ -0,0 +1,31 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.dto.EstatisticasCache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, EstatisticasCache>> estatisticas() {
+        Map<String, EstatisticasCache> estatisticas = new TreeMap<>();
+        for (String nome : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(nome) instanceof CaffeineCache cache) {
+                estatisticas.put(nome, EstatisticasCache.de(cache.getNativeCache()));
+            }
+        }
+        return ResponseEntity.ok(estatisticas);
+    }
+}
@@ -1,19 +1,25 @@
 package com.cursos.gerencia_de_cursos.controller;
 
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.TipoRegistro;
 import com.cursos.gerencia_de_cursos.model.Curso;
 import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.service.CatalogoService;
+import com.cursos.gerencia_de_cursos.service.FeedAlteracoesService;
+import com.cursos.gerencia_de_cursos.service.EstatisticaService;
+import com.cursos.gerencia_de_cursos.service.IndiceBuscaService;
+import com.cursos.gerencia_de_cursos.service.VersaoColecaoService;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @RestController
 @RequestMapping("/api/cursos")
@@ -21,38 +27,71 @@ public class CursoController {
 
     @Autowired
     private CursoRepository cursoRepository;
+    @Autowired
+    private CatalogoService catalogoService;
+    @Autowired
+    private VersaoColecaoService versaoColecaoService;
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+    @Autowired
+    private EstatisticaService estatisticaService;
 
     @PostMapping
     public ResponseEntity<Curso> criarCurso(@Valid @RequestBody Curso novoCurso) {
         Curso cursoSalvo = cursoRepository.save(novoCurso);
+        versaoColecaoService.registrarAlteracao(VersaoColecaoService.CURSOS);
+        indiceBuscaService.indexar(cursoSalvo);
+        feedAlteracoesService.publicar("curso", FeedAlteracoesService.CRIADO, cursoSalvo.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(cursoSalvo);
     }
 
     @GetMapping
-    public ResponseEntity<List<Curso>> listarTodos() {
-        List<Curso> cursos = StreamSupport.stream(cursoRepository.findAll().spliterator(), false)
-                                          .collect(Collectors.toList());
-        return ResponseEntity.ok(cursos);
+    public ResponseEntity<Pagina<Curso>> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = Pagina.LIMITE_PADRAO) int limit,
+            WebRequest request) {
+        String etag = ETags.de(versaoColecaoService.versaoAtual(VersaoColecaoService.CURSOS));
+        if (ETags.naoModificado(request, etag)) {
+            return null;
+        }
+        List<Curso> cursos = cursoRepository.findByIdGreaterThanOrderByIdAsc(Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+        return ResponseEntity.ok().eTag(etag).body(Pagina.de(cursos, limit, Curso::getId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Curso> buscarPorId(@PathVariable Long id) {
-        Optional<Curso> curso = cursoRepository.findById(id);
-        
-        return curso.map(ResponseEntity::ok)
+    public ResponseEntity<Curso> buscarPorId(@PathVariable Long id, WebRequest request) {
+        Curso curso = catalogoService.buscarCurso(id)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Curso não encontrado com ID: " + id));
+
+        String etag = ETags.de(curso.getVersao());
+        if (ETags.naoModificado(request, etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(curso);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Curso> atualizarCurso(@PathVariable Long id, @Valid @RequestBody Curso dadosCurso) {
+    public ResponseEntity<Curso> atualizarCurso(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody Curso dadosCurso) {
         return cursoRepository.findById(id).map(cursoExistente -> {
-            
+            ETags.verificarIfMatch(ifMatch, ETags.de(cursoExistente.getVersao()));
+
+            int cargaAnterior = cursoExistente.getCargaHoraria();
             cursoExistente.setNome(dadosCurso.getNome());
             cursoExistente.setDescricao(dadosCurso.getDescricao());
             cursoExistente.setCargaHoraria(dadosCurso.getCargaHoraria());
             
             Curso cursoAtualizado = cursoRepository.save(cursoExistente);
-            return ResponseEntity.ok(cursoAtualizado);
+            catalogoService.invalidarCurso(id);
+            estatisticaService.registrarCargaHoraria(id, cursoAtualizado.getCargaHoraria() - cargaAnterior);
+            versaoColecaoService.registrarAlteracao(VersaoColecaoService.CURSOS);
+            indiceBuscaService.indexar(cursoAtualizado);
+            feedAlteracoesService.publicar("curso", FeedAlteracoesService.ALTERADO, id);
+            return ResponseEntity.ok().eTag(ETags.de(cursoAtualizado.getVersao())).varyBy(HttpHeaders.ACCEPT).body(cursoAtualizado);
             
         }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Curso não encontrado para atualização com ID: " + id));
     }
@@ -64,5 +103,9 @@ public class CursoController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Curso não encontrado para exclusão com ID: " + id);
         }
         cursoRepository.deleteById(id);
+        catalogoService.invalidarCurso(id);
+        versaoColecaoService.registrarAlteracao(VersaoColecaoService.CURSOS);
+        indiceBuscaService.remover(TipoRegistro.CURSO, id);
+        feedAlteracoesService.publicar("curso", FeedAlteracoesService.REMOVIDO, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+/**
+ * ETags derivadas das colunas {@code @Version} das entidades e dos carimbos de
+ * {@link com.cursos.gerencia_de_cursos.model.VersaoColecao}.
+ *
+ * <p>A mesma ETag vale para o corpo em JSON e em CBOR, por isso as leituras
+ * respondem com {@code Vary: Accept}: um cache guarda uma cópia por formato e
+ * não devolve CBOR a quem pediu JSON. A ETag é forte e o Tomcat não comprime
+ * respostas com ETag forte ({@code server.compression}), então ela chega ao
+ * cliente como foi gerada e pode voltar sem mudanças no {@code If-Match}.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String de(Object... versoes) {
+        StringBuilder etag = new StringBuilder("\"");
+        for (int i = 0; i < versoes.length; i++) {
+            if (i > 0) {
+                etag.append('-');
+            }
+            etag.append(versoes[i]);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Marca a resposta como variável pelo {@code Accept}, inclusive a 304, e
+     * confere o {@code If-None-Match} da requisição com {@code etag}.
+     *
+     * @return {@code true} se a resposta já foi resolvida como 304
+     */
+    static boolean naoModificado(WebRequest request, String etag) {
+        if (request instanceof NativeWebRequest nativa) {
+            HttpServletResponse resposta = nativa.getNativeResponse(HttpServletResponse.class);
+            if (resposta != null && !resposta.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+                resposta.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return request.checkNotModified(etag);
+    }
+
+    /**
+     * Recusa com 412 uma alteração cujo {@code If-Match} não corresponde à
+     * versão atual do registro. Sem o cabeçalho a alteração segue normalmente.
+     */
+    static void verificarIfMatch(String ifMatch, String etagAtual) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        boolean corresponde = Arrays.stream(ifMatch.split(","))
+            .map(String::trim)
+            .anyMatch(etag -> etag.equals("*") || etag.equals(etagAtual));
+        if (!corresponde) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "O registro foi alterado desde a última leitura.");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.dto.EstatisticaTurma;
+import com.cursos.gerencia_de_cursos.model.EstatisticaCurso;
+import com.cursos.gerencia_de_cursos.model.EstatisticaProfessor;
+import com.cursos.gerencia_de_cursos.service.EstatisticaService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/estatisticas")
+public class EstatisticaController {
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @GetMapping("/turmas/{id}")
+    public ResponseEntity<EstatisticaTurma> turma(@PathVariable Long id) {
+        return ResponseEntity.ok(estatisticaService.turma(id));
+    }
+
+    @GetMapping("/cursos/{id}")
+    public ResponseEntity<EstatisticaCurso> curso(@PathVariable Long id) {
+        return ResponseEntity.ok(estatisticaService.curso(id));
+    }
+
+    @GetMapping("/professores/{id}")
+    public ResponseEntity<EstatisticaProfessor> professor(@PathVariable Long id) {
+        return ResponseEntity.ok(estatisticaService.professor(id));
+    }
+}
@@ -0,0 +1,42 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.dto.AndamentoFechamento;
+import com.cursos.gerencia_de_cursos.service.FechamentoPeriodoService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/fechamentos")
+public class FechamentoController {
+
+    @Autowired
+    private FechamentoPeriodoService fechamentoPeriodoService;
+
+    /**
+     * Gera as listas e os certificados das turmas encerradas antes de
+     * {@code data}. Responde logo com o andamento; o progresso é acompanhado
+     * pelo GET do mesmo endereço.
+     */
+    @PostMapping("/{data}")
+    public ResponseEntity<AndamentoFechamento> iniciar(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(defaultValue = "false") boolean refazer) {
+        return ResponseEntity.accepted().body(fechamentoPeriodoService.iniciar(data, refazer));
+    }
+
+    @GetMapping("/{data}")
+    public ResponseEntity<AndamentoFechamento> andamento(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return ResponseEntity.ok(fechamentoPeriodoService.andamento(data));
+    }
+}
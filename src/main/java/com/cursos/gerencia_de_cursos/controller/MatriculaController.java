@@ -0,0 +1,47 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.dto.MatriculaPedido;
+import com.cursos.gerencia_de_cursos.dto.RelatorioMatriculaLote;
+import com.cursos.gerencia_de_cursos.service.ExportacaoMatriculaService;
+import com.cursos.gerencia_de_cursos.service.MatriculaService;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/matriculas")
+public class MatriculaController {
+
+    @Autowired
+    private MatriculaService matriculaService;
+    @Autowired
+    private ExportacaoMatriculaService exportacaoMatriculaService;
+
+    @PostMapping("/lote")
+    public ResponseEntity<RelatorioMatriculaLote> matricularEmLote(
+            @RequestBody @NotEmpty(message = "Informe ao menos uma matrícula.") List<@NotNull @Valid MatriculaPedido> pedidos) {
+        return ResponseEntity.ok(matriculaService.matricularEmLote(pedidos));
+    }
+
+    @PostMapping("/lote/turmas/{turmaId}")
+    public ResponseEntity<RelatorioMatriculaLote> matricularEmLoteNaTurma(
+            @PathVariable Long turmaId,
+            @RequestBody @NotEmpty(message = "Informe ao menos um aluno.") List<@NotNull Long> alunoIds) {
+        return ResponseEntity.ok(matriculaService.matricularEmLote(turmaId, alunoIds));
+    }
+
+    @GetMapping(value = "/exportacao", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(exportacaoMatriculaService::exportar);
+    }
+}
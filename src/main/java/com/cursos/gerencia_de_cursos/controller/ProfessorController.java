@@ -1,18 +1,28 @@
 package com.cursos.gerencia_de_cursos.controller;
 
+import com.cursos.gerencia_de_cursos.dto.ConflitoAgenda;
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.ProfessorResumo;
+import com.cursos.gerencia_de_cursos.dto.Representacao;
+import com.cursos.gerencia_de_cursos.dto.TipoRegistro;
 import com.cursos.gerencia_de_cursos.model.Professor;
 import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+import com.cursos.gerencia_de_cursos.service.AgendaProfessorService;
+import com.cursos.gerencia_de_cursos.service.CatalogoService;
+import com.cursos.gerencia_de_cursos.service.FeedAlteracoesService;
+import com.cursos.gerencia_de_cursos.service.IndiceBuscaService;
+import com.cursos.gerencia_de_cursos.service.VersaoColecaoService;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @RestController
 @RequestMapping("/api/professores")
@@ -20,37 +30,80 @@ public class ProfessorController {
 
     @Autowired
     private ProfessorRepository professorRepository;
+    @Autowired
+    private CatalogoService catalogoService;
+    @Autowired
+    private VersaoColecaoService versaoColecaoService;
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+    @Autowired
+    private AgendaProfessorService agendaProfessorService;
 
     @PostMapping
     public ResponseEntity<Professor> criarProfessor(@Valid @RequestBody Professor novoProfessor) {
         Professor professorSalvo = professorRepository.save(novoProfessor);
+        versaoColecaoService.registrarAlteracao(VersaoColecaoService.PROFESSORES);
+        indiceBuscaService.indexar(professorSalvo);
+        feedAlteracoesService.publicar("professor", FeedAlteracoesService.CRIADO, professorSalvo.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(professorSalvo);
     }
 
     @GetMapping
-    public ResponseEntity<List<Professor>> listarTodos() {
-        List<Professor> professores = StreamSupport.stream(professorRepository.findAll().spliterator(), false)
-                                          .collect(Collectors.toList());
-        return ResponseEntity.ok(professores);
+    public ResponseEntity<Pagina<?>> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = Pagina.LIMITE_PADRAO) int limit,
+            @RequestParam(defaultValue = "resumo") String fields,
+            WebRequest request) {
+        Representacao representacao = Representacao.de(fields);
+        String etag = ETags.de(versaoColecaoService.versaoAtual(VersaoColecaoService.PROFESSORES));
+        if (ETags.naoModificado(request, etag)) {
+            return null;
+        }
+        if (representacao == Representacao.RESUMO) {
+            List<ProfessorResumo> resumos = professorRepository.findResumosByIdGreaterThan(Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+            return ResponseEntity.ok().eTag(etag).body(Pagina.de(resumos, limit, ProfessorResumo::id));
+        }
+        List<Professor> professores = professorRepository.findByIdGreaterThanOrderByIdAsc(Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+        return ResponseEntity.ok().eTag(etag).body(Pagina.de(professores, limit, Professor::getId));
+    }
+
+    @GetMapping("/conflitos")
+    public ResponseEntity<List<ConflitoAgenda>> listarConflitos() {
+        return ResponseEntity.ok(agendaProfessorService.listarConflitos());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Professor> buscarPorId(@PathVariable Long id) {
-        return professorRepository.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Professor> buscarPorId(@PathVariable Long id, WebRequest request) {
+        Professor professor = catalogoService.buscarProfessor(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Professor não encontrado com ID: " + id));
+
+        String etag = ETags.de(professor.getVersao());
+        if (ETags.naoModificado(request, etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(professor);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Professor> atualizarProfessor(@PathVariable Long id, @Valid @RequestBody Professor dadosProfessor) {
+    public ResponseEntity<Professor> atualizarProfessor(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody Professor dadosProfessor) {
         return professorRepository.findById(id).map(professorExistente -> {
-            
+            ETags.verificarIfMatch(ifMatch, ETags.de(professorExistente.getVersao()));
+
             professorExistente.setNome(dadosProfessor.getNome());
             professorExistente.setAreaEspecializacao(dadosProfessor.getAreaEspecializacao());
             professorExistente.setCurriculo(dadosProfessor.getCurriculo());
             
             Professor professorAtualizado = professorRepository.save(professorExistente);
-            return ResponseEntity.ok(professorAtualizado);
+            catalogoService.invalidarProfessor(id);
+            versaoColecaoService.registrarAlteracao(VersaoColecaoService.PROFESSORES);
+            indiceBuscaService.indexar(professorAtualizado);
+            feedAlteracoesService.publicar("professor", FeedAlteracoesService.ALTERADO, id);
+            return ResponseEntity.ok().eTag(ETags.de(professorAtualizado.getVersao())).varyBy(HttpHeaders.ACCEPT).body(professorAtualizado);
             
         }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Professor não encontrado para atualização com ID: " + id));
     }
@@ -62,5 +115,9 @@ public class ProfessorController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Professor não encontrado para exclusão com ID: " + id);
         }
         professorRepository.deleteById(id);
+        catalogoService.invalidarProfessor(id);
+        versaoColecaoService.registrarAlteracao(VersaoColecaoService.PROFESSORES);
+        indiceBuscaService.remover(TipoRegistro.PROFESSOR, id);
+        feedAlteracoesService.publicar("professor", FeedAlteracoesService.REMOVIDO, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class TratamentoErrosAdvice {
+
+    /**
+     * Restrições do banco nas quais as gravações confiam no lugar de consultas
+     * prévias, com a resposta que cada violação produz.
+     */
+    private enum Restricao {
+        UK_TURMA_CODIGO(HttpStatus.CONFLICT, "Código da turma já cadastrado."),
+        UK_ALUNO_CPF(HttpStatus.CONFLICT, "CPF já cadastrado no sistema."),
+        FK_TURMA_CURSO(HttpStatus.BAD_REQUEST, "Curso não encontrado para associação."),
+        FK_TURMA_PROFESSOR(HttpStatus.BAD_REQUEST, "Professor não encontrado para associação."),
+        FK_TURMA_HISTORICO_CURSO(HttpStatus.CONFLICT, "O curso possui turmas arquivadas."),
+        FK_TURMA_HISTORICO_PROFESSOR(HttpStatus.CONFLICT, "O professor possui turmas arquivadas."),
+        FK_TURMA_ALUNO_HISTORICO_ALUNO(HttpStatus.CONFLICT, "O aluno possui matrículas em turmas arquivadas.");
+
+        private final HttpStatus status;
+        private final String mensagem;
+
+        Restricao(HttpStatus status, String mensagem) {
+            this.status = status;
+            this.mensagem = mensagem;
+        }
+    }
+
+    /**
+     * Duas alterações concorrentes sobre a mesma versão: a segunda perde e
+     * o cliente deve reler o registro antes de tentar de novo.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail conflitoDeVersao(OptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "O registro foi alterado por outra requisição.");
+    }
+
+    /**
+     * O nome da restrição violada aparece na mensagem do banco (H2 e MySQL).
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail violacaoDeRestricao(DataIntegrityViolationException e) {
+        String mensagem = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase();
+        for (Restricao restricao : Restricao.values()) {
+            if (mensagem.contains(restricao.name().toLowerCase())) {
+                return ProblemDetail.forStatusAndDetail(restricao.status, restricao.mensagem);
+            }
+        }
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "A operação viola uma restrição de integridade dos dados.");
+    }
+}
@@ -1,23 +1,35 @@
 package com.cursos.gerencia_de_cursos.controller;
 
-import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.dto.FiltroTurma;
+import com.cursos.gerencia_de_cursos.dto.MatriculaResultado;
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.Representacao;
+import com.cursos.gerencia_de_cursos.dto.StatusMatricula;
+import com.cursos.gerencia_de_cursos.dto.TurmaResumo;
+import com.cursos.gerencia_de_cursos.dto.VersoesTurma;
 import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.model.TurmaArquivada;
 import com.cursos.gerencia_de_cursos.model.Curso; 
 import com.cursos.gerencia_de_cursos.model.Professor; 
-import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaArquivadaRepository;
 import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
-import com.cursos.gerencia_de_cursos.repository.CursoRepository;
-import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+import com.cursos.gerencia_de_cursos.service.CatalogoService;
+import com.cursos.gerencia_de_cursos.service.FeedAlteracoesService;
+import com.cursos.gerencia_de_cursos.service.MatriculaService;
+import com.cursos.gerencia_de_cursos.service.TurmaService;
 import jakarta.validation.Valid;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import org.springframework.transaction.annotation.Transactional; 
 
@@ -28,82 +40,122 @@ public class TurmaController {
     @Autowired
     private TurmaRepository turmaRepository;
     @Autowired
-    private CursoRepository cursoRepository; 
+    private TurmaArquivadaRepository turmaArquivadaRepository;
     @Autowired
-    private ProfessorRepository professorRepository; 
+    private CatalogoService catalogoService; 
     @Autowired
-    private AlunoRepository alunoRepository; 
+    private MatriculaService matriculaService; 
+    @Autowired
+    private TurmaService turmaService;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
 
 
+    /**
+     * Código repetido e curso ou professor inexistentes são detectados pelas
+     * restrições do banco na inserção (ver {@link TratamentoErrosAdvice}).
+     */
     @PostMapping
     public ResponseEntity<Turma> criarTurma(@Valid @RequestBody Turma novaTurma) {
-        
-        if (turmaRepository.findByCodigoTurma(novaTurma.getCodigoTurma()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Código da turma já cadastrado.");
-        }
-        
-        Curso cursoReferencia = cursoRepository.findById(novaTurma.getCurso().getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Curso não encontrado para associação."));
-        novaTurma.setCurso(cursoReferencia); 
-        
-        Professor professorReferencia = professorRepository.findById(novaTurma.getProfessor().getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Professor não encontrado para associação."));
-        novaTurma.setProfessor(professorReferencia); 
+        novaTurma.setCurso(catalogoService.referenciaCurso(novaTurma.getCurso().getId()));
+        novaTurma.setProfessor(catalogoService.referenciaProfessor(novaTurma.getProfessor().getId()));
 
-        Turma turmaSalva = turmaRepository.save(novaTurma);
-        
-        Turma turmaCompleta = turmaRepository.findById(turmaSalva.getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Falha ao recarregar a turma salva."));
-        
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(turmaCompleta);
+        Turma turmaSalva = turmaService.salvar(novaTurma);
+        feedAlteracoesService.publicar("turma", FeedAlteracoesService.CRIADO, turmaSalva.getId());
+
+        // vagas_ocupadas não entra no INSERT; a turma nova começa com o default da coluna
+        turmaSalva.setVagasOcupadas(0);
+        return ResponseEntity.status(HttpStatus.CREATED).body(comCursoEProfessor(turmaSalva));
     }
 
+    /**
+     * Lista as turmas em uso; com {@code arquivadas=true}, as que já foram
+     * movidas para o histórico (ver {@link com.cursos.gerencia_de_cursos.service.ArquivamentoService}).
+     */
     @GetMapping
-    @Transactional
-    public ResponseEntity<List<Turma>> listarTodos() {
-        List<Turma> turmas = StreamSupport.stream(turmaRepository.findAll().spliterator(), false)
-                                          .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResponseEntity<Pagina<?>> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = Pagina.LIMITE_PADRAO) int limit,
+            @RequestParam(defaultValue = "resumo") String fields,
+            @RequestParam(required = false) Long cursoId,
+            @RequestParam(required = false) Long professorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "false") boolean arquivadas) {
+        FiltroTurma filtro = new FiltroTurma(cursoId, professorId, dataInicio, dataFim);
+        if (arquivadas) {
+            return listarArquivadas(filtro, after, limit, Representacao.de(fields));
+        }
+        if (Representacao.de(fields) == Representacao.RESUMO) {
+            List<TurmaResumo> resumos = turmaRepository.buscarResumosPorFiltro(filtro, Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+            return ResponseEntity.ok(Pagina.de(resumos, limit, TurmaResumo::id));
+        }
+
+        List<Turma> turmas = turmaRepository.buscarPorFiltro(filtro, Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
         
-        turmas.forEach(t -> t.getAlunos().size()); 
+        if (!turmas.isEmpty()) {
+            turmaRepository.carregarAlunos(turmas.stream().map(Turma::getId).toList());
+        }
 
-        return ResponseEntity.ok(turmas);
+        return ResponseEntity.ok(Pagina.de(turmas, limit, Turma::getId));
     }
 
     @GetMapping("/{id}")
-    @Transactional 
-    public ResponseEntity<Turma> buscarPorId(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> buscarPorId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean arquivadas,
+            WebRequest request) {
+        if (arquivadas) {
+            TurmaArquivada turma = turmaArquivadaRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma arquivada não encontrada com ID: " + id));
+            turma.getAlunos().size();
+            return ResponseEntity.ok(turma);
+        }
+
+        String etag = turmaRepository.findVersoesById(id)
+                .map(VersoesTurma::etag)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, turmaArquivadaRepository.existsById(id)
+                        ? "A turma " + id + " foi arquivada; consulte-a com arquivadas=true."
+                        : "Turma não encontrada com ID: " + id));
+        if (ETags.naoModificado(request, etag)) {
+            return null;
+        }
+
         Turma turma = turmaRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada com ID: " + id));
 
         turma.getAlunos().size();
         
-        return ResponseEntity.ok(turma);
+        return ResponseEntity.ok().eTag(etag).body(turma);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Turma> atualizarTurma(@PathVariable Long id, @Valid @RequestBody Turma dadosTurma) {
+    public ResponseEntity<Turma> atualizarTurma(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody Turma dadosTurma) {
         return turmaRepository.findById(id).map(turmaExistente -> {
-            
-            Curso cursoReferencia = cursoRepository.findById(dadosTurma.getCurso().getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Curso não encontrado para associação."));
-            
-            Professor professorReferencia = professorRepository.findById(dadosTurma.getProfessor().getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Professor não encontrado para associação."));
+            ETags.verificarIfMatch(ifMatch, etag(turmaExistente));
 
             turmaExistente.setCodigoTurma(dadosTurma.getCodigoTurma());
             turmaExistente.setDataInicio(dadosTurma.getDataInicio());
             turmaExistente.setDataFim(dadosTurma.getDataFim());
+            turmaExistente.setCapacidade(dadosTurma.getCapacidade());
             
-            turmaExistente.setCurso(cursoReferencia); 
-            turmaExistente.setProfessor(professorReferencia); 
+            turmaExistente.setCurso(catalogoService.referenciaCurso(dadosTurma.getCurso().getId()));
+            turmaExistente.setProfessor(catalogoService.referenciaProfessor(dadosTurma.getProfessor().getId()));
             
-            Turma turmaAtualizada = turmaRepository.save(turmaExistente);
+            Turma turmaAtualizada = turmaService.salvar(turmaExistente);
 
-            Turma turmaCompleta = turmaRepository.findById(turmaAtualizada.getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Falha ao recarregar a turma atualizada."));
+            feedAlteracoesService.publicar("turma", FeedAlteracoesService.ALTERADO, id);
 
-            return ResponseEntity.ok(turmaCompleta);
+            Turma resposta = matriculaService.promoverListaDeEspera(id)
+                ? turmaRepository.recarregar(turmaAtualizada)
+                : turmaAtualizada;
+            resposta = comCursoEProfessor(resposta);
+            return ResponseEntity.ok().eTag(etag(resposta)).varyBy(HttpHeaders.ACCEPT).body(resposta);
             
         }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada para atualização com ID: " + id));
     }
@@ -111,60 +163,50 @@ public class TurmaController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT) 
     public void deletarTurma(@PathVariable Long id) {
-        if (!turmaRepository.existsById(id)) {
+        if (!turmaService.excluir(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada para exclusão com ID: " + id);
         }
-        turmaRepository.deleteById(id);
+        feedAlteracoesService.publicar("turma", FeedAlteracoesService.REMOVIDO, id);
     }
     
 
     @PostMapping("/{turmaId}/matricular/{alunoId}")
-    @Transactional
-    public ResponseEntity<Turma> matricularAluno(@PathVariable Long turmaId, @PathVariable Long alunoId) {
-        
-        Turma turma = turmaRepository.findById(turmaId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada."));
-            
-        Aluno aluno = alunoRepository.findById(alunoId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não encontrado."));
-
-        if (turma.getAlunos().contains(aluno)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Aluno já matriculado nesta turma.");
+    public ResponseEntity<MatriculaResultado> matricularAluno(@PathVariable Long turmaId, @PathVariable Long alunoId) {
+        MatriculaResultado resultado = matriculaService.matricular(turmaId, alunoId);
+        if (resultado.status() == StatusMatricula.EM_ESPERA) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(resultado);
         }
-            
-        turma.getAlunos().add(aluno);
-        Turma turmaAtualizada = turmaRepository.save(turma); 
-        
-        Turma turmaCompleta = turmaRepository.findById(turmaAtualizada.getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Falha ao recarregar a turma salva após matrícula."));
-        
-        turmaCompleta.getAlunos().size(); 
-
-        return ResponseEntity.ok(turmaCompleta);
+        return ResponseEntity.ok(resultado);
     }
 
     @DeleteMapping("/{turmaId}/desmatricular/{alunoId}")
-    @Transactional
-    public ResponseEntity<Turma> desmatricularAluno(@PathVariable Long turmaId, @PathVariable Long alunoId) {
-        
-        Turma turma = turmaRepository.findById(turmaId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada."));
-            
-        Aluno aluno = alunoRepository.findById(alunoId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não encontrado."));
+    public ResponseEntity<MatriculaResultado> desmatricularAluno(@PathVariable Long turmaId, @PathVariable Long alunoId) {
+        return ResponseEntity.ok(matriculaService.desmatricular(turmaId, alunoId));
+    }
 
-        if (!turma.getAlunos().contains(aluno)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não está matriculado nesta turma.");
+    private ResponseEntity<Pagina<?>> listarArquivadas(FiltroTurma filtro, Long after, int limit, Representacao representacao) {
+        if (representacao == Representacao.RESUMO) {
+            List<TurmaResumo> resumos = turmaRepository.buscarResumosArquivadosPorFiltro(filtro, Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+            return ResponseEntity.ok(Pagina.de(resumos, limit, TurmaResumo::id));
         }
-            
-        turma.getAlunos().remove(aluno);
-        Turma turmaAtualizada = turmaRepository.save(turma); 
-        
-        Turma turmaCompleta = turmaRepository.findById(turmaAtualizada.getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Falha ao recarregar a turma atualizada após desmatrícula."));
+        List<TurmaArquivada> turmas = turmaRepository.buscarArquivadasPorFiltro(filtro, Pagina.cursorInicial(after), Pagina.limiteConsulta(limit));
+        if (!turmas.isEmpty()) {
+            turmaArquivadaRepository.carregarAlunos(turmas.stream().map(TurmaArquivada::getId).toList());
+        }
+        return ResponseEntity.ok(Pagina.de(turmas, limit, TurmaArquivada::getId));
+    }
 
-        turmaCompleta.getAlunos().size();
+    /**
+     * Troca as referências não carregadas por entidades, para a resposta.
+     * Só há consulta quando o curso ou o professor não estava em cache.
+     */
+    private static Turma comCursoEProfessor(Turma turma) {
+        turma.setCurso((Curso) Hibernate.unproxy(turma.getCurso()));
+        turma.setProfessor((Professor) Hibernate.unproxy(turma.getProfessor()));
+        return turma;
+    }
 
-        return ResponseEntity.ok(turmaCompleta);
+    private static String etag(Turma turma) {
+        return new VersoesTurma(turma.getVersao(), turma.getCurso().getVersao(), turma.getProfessor().getVersao()).etag();
     }
-}
\ No newline at end of file
+}
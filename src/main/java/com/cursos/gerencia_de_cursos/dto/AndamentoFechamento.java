@@ -0,0 +1,49 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progresso do fechamento das turmas encerradas antes de
+ * {@code dataReferencia}. É também o ponto de retomada gravado em disco:
+ * {@code ultimaTurmaId} é a última turma cujo bloco terminou de ser gerado.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AndamentoFechamento(
+    LocalDate dataReferencia,
+    Situacao situacao,
+    long turmasTotal,
+    long turmasProcessadas,
+    long certificados,
+    long ultimaTurmaId,
+    Instant iniciadoEm,
+    Instant atualizadoEm,
+    String erro) {
+
+    public enum Situacao { EM_ANDAMENTO, CONCLUIDO, FALHOU }
+
+    public static AndamentoFechamento iniciar(LocalDate dataReferencia, long turmasTotal, AndamentoFechamento anterior) {
+        Instant agora = Instant.now();
+        return anterior == null
+            ? new AndamentoFechamento(dataReferencia, Situacao.EM_ANDAMENTO, turmasTotal, 0, 0, 0, agora, agora, null)
+            : new AndamentoFechamento(dataReferencia, Situacao.EM_ANDAMENTO, turmasTotal,
+                anterior.turmasProcessadas, anterior.certificados, anterior.ultimaTurmaId, agora, agora, null);
+    }
+
+    public AndamentoFechamento avancar(int turmas, long certificadosGerados, long ultimaTurmaId) {
+        return new AndamentoFechamento(dataReferencia, situacao, turmasTotal, turmasProcessadas + turmas,
+            certificados + certificadosGerados, ultimaTurmaId, iniciadoEm, Instant.now(), null);
+    }
+
+    public AndamentoFechamento concluir() {
+        return new AndamentoFechamento(dataReferencia, Situacao.CONCLUIDO, turmasTotal, turmasProcessadas,
+            certificados, ultimaTurmaId, iniciadoEm, Instant.now(), null);
+    }
+
+    public AndamentoFechamento falhar(String mensagem) {
+        return new AndamentoFechamento(dataReferencia, Situacao.FALHOU, turmasTotal, turmasProcessadas,
+            certificados, ultimaTurmaId, iniciadoEm, Instant.now(), mensagem);
+    }
+}
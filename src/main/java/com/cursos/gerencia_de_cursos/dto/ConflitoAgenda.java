@@ -0,0 +1,10 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Duas turmas do mesmo professor com períodos sobrepostos; {@code inicio} e
+ * {@code fim} delimitam o trecho em comum.
+ */
+public record ConflitoAgenda(Long professorId, Long turmaId, Long turmaConflitanteId, LocalDate inicio, LocalDate fim) {
+}
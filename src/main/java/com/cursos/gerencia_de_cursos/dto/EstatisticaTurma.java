@@ -0,0 +1,7 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+/**
+ * Ocupação de uma turma; {@code capacidade} nula indica turma sem limite.
+ */
+public record EstatisticaTurma(Long turmaId, Integer matriculados, Integer capacidade) {
+}
@@ -0,0 +1,22 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record EstatisticasCache(
+    long tamanho,
+    long acertos,
+    long falhas,
+    double taxaAcerto,
+    long remocoes) {
+
+    public static EstatisticasCache de(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCache(
+            cache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount());
+    }
+}
@@ -0,0 +1,14 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Evento do feed de alterações. {@code entidade} é aluno, professor, curso,
+ * turma ou matricula; {@code operacao} é criado, alterado ou removido. Nas
+ * matrículas {@code id} é a turma e {@code alunoId} o aluno.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventoAlteracao(long sequencia, String entidade, String operacao, Long id, Long alunoId, Instant momento) {
+}
@@ -0,0 +1,23 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionais da listagem de turmas. {@code dataInicio} e
+ * {@code dataFim} formam uma janela: entram as turmas cujo período a
+ * intercepta, de modo que "turmas ativas no dia X" é a janela [X, X].
+ */
+public record FiltroTurma(Long cursoId, Long professorId, LocalDate dataInicio, LocalDate dataFim) {
+
+    public FiltroTurma {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "O parâmetro dataInicio não pode ser posterior a dataFim."
+            );
+        }
+    }
+}
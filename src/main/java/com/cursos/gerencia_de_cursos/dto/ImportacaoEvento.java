@@ -0,0 +1,29 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Linha do relatório NDJSON de uma importação de alunos: progresso a cada
+ * bloco processado, um erro por linha rejeitada e o resumo final.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportacaoEvento(
+    String tipo,
+    Long linha,
+    String mensagem,
+    Long linhasLidas,
+    Long importados,
+    Long rejeitados) {
+
+    public static ImportacaoEvento progresso(long linhasLidas, long importados, long rejeitados) {
+        return new ImportacaoEvento("progresso", null, null, linhasLidas, importados, rejeitados);
+    }
+
+    public static ImportacaoEvento erro(long linha, String mensagem) {
+        return new ImportacaoEvento("erro", linha, mensagem, null, null, null);
+    }
+
+    public static ImportacaoEvento resumo(long linhasLidas, long importados, long rejeitados) {
+        return new ImportacaoEvento("resumo", null, null, linhasLidas, importados, rejeitados);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+public record MatriculaExportada(
+    Long turmaId,
+    String codigoTurma,
+    String curso,
+    String professor,
+    Long alunoId,
+    String cpf,
+    String email) {
+}
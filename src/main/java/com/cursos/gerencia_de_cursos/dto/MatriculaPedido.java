@@ -0,0 +1,8 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record MatriculaPedido(
+    @NotNull(message = "O ID da turma é obrigatório.") Long turmaId,
+    @NotNull(message = "O ID do aluno é obrigatório.") Long alunoId) {
+}
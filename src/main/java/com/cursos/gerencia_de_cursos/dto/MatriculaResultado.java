@@ -0,0 +1,8 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+/**
+ * Resultado de uma operação de matrícula, devolvido no lugar da turma
+ * recarregada para que o custo da resposta não dependa do tamanho da turma.
+ */
+public record MatriculaResultado(Long turmaId, Long alunoId, StatusMatricula status) {
+}
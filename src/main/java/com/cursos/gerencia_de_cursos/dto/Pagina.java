@@ -0,0 +1,48 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset sobre o {@code id}).
+ * {@code proximoCursor} é o valor a ser enviado em {@code after} para obter a
+ * página seguinte, ou {@code null} quando não há mais registros. A busca
+ * ({@code /api/busca}), ordenada por relevância, é a exceção: nela o cursor é
+ * a posição enviada em {@code offset}.
+ */
+public record Pagina<T>(List<T> itens, Long proximoCursor) {
+
+    /** Tamanho da página quando {@code limit} não é informado (texto, para uso em {@code @RequestParam}). */
+    public static final String LIMITE_PADRAO = "50";
+    public static final int LIMITE_MAXIMO = 500;
+
+    public static long cursorInicial(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Valida o tamanho da página e devolve o {@link Limit} da consulta, com um
+     * registro extra para detectar se existe página seguinte.
+     */
+    public static Limit limiteConsulta(int limit) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "O parâmetro limit deve estar entre 1 e " + LIMITE_MAXIMO + "."
+            );
+        }
+        return Limit.of(limit + 1);
+    }
+
+    public static <T> Pagina<T> de(List<T> resultados, int limit, Function<T, Long> cursor) {
+        if (resultados.size() <= limit) {
+            return new Pagina<>(resultados, null);
+        }
+        List<T> itens = resultados.subList(0, limit);
+        return new Pagina<>(List.copyOf(itens), cursor.apply(itens.get(limit - 1)));
+    }
+}
@@ -0,0 +1,4 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+public record ProfessorResumo(Long id, String nome, String areaEspecializacao) {
+}
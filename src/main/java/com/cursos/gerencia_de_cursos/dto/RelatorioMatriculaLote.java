@@ -0,0 +1,28 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma matrícula em lote, com um item por pedido, na mesma ordem
+ * em que os pedidos foram enviados.
+ */
+public record RelatorioMatriculaLote(
+    long matriculados,
+    long jaMatriculados,
+    long lotados,
+    long naoEncontrados,
+    List<MatriculaResultado> itens) {
+
+    public static RelatorioMatriculaLote de(List<MatriculaResultado> itens) {
+        return new RelatorioMatriculaLote(
+            contar(itens, StatusMatricula.MATRICULADO),
+            contar(itens, StatusMatricula.JA_MATRICULADO),
+            contar(itens, StatusMatricula.TURMA_LOTADA),
+            contar(itens, StatusMatricula.TURMA_NAO_ENCONTRADA) + contar(itens, StatusMatricula.ALUNO_NAO_ENCONTRADO),
+            itens);
+    }
+
+    private static long contar(List<MatriculaResultado> itens, StatusMatricula status) {
+        return itens.stream().filter(i -> i.status() == status).count();
+    }
+}
@@ -0,0 +1,25 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Representação escolhida pelo parâmetro {@code fields} das listagens:
+ * {@code resumo} (padrão) traz apenas as colunas exibidas nas listas e
+ * {@code completo} traz as entidades inteiras.
+ */
+public enum Representacao {
+    RESUMO,
+    COMPLETO;
+
+    public static Representacao de(String fields) {
+        return switch (fields.trim().toLowerCase()) {
+            case "resumo" -> RESUMO;
+            case "completo" -> COMPLETO;
+            default -> throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "O parâmetro fields deve ser 'resumo' ou 'completo'."
+            );
+        };
+    }
+}
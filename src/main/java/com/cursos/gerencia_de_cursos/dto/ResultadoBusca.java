@@ -0,0 +1,8 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+/**
+ * Item da busca textual. {@code titulo} é o nome do registro e {@code detalhe}
+ * o campo complementar exibido na lista (e-mail, área ou descrição).
+ */
+public record ResultadoBusca(TipoRegistro tipo, Long id, String titulo, String detalhe, double relevancia) {
+}
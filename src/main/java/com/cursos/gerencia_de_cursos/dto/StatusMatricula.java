@@ -0,0 +1,11 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+public enum StatusMatricula {
+    MATRICULADO,
+    DESMATRICULADO,
+    JA_MATRICULADO,
+    EM_ESPERA,
+    TURMA_LOTADA,
+    TURMA_NAO_ENCONTRADA,
+    ALUNO_NAO_ENCONTRADO
+}
@@ -0,0 +1,25 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Tipos de registro cobertos pela busca textual.
+ */
+public enum TipoRegistro {
+    ALUNO,
+    PROFESSOR,
+    CURSO;
+
+    public static TipoRegistro de(String tipo) {
+        return switch (tipo.trim().toLowerCase()) {
+            case "aluno" -> ALUNO;
+            case "professor" -> PROFESSOR;
+            case "curso" -> CURSO;
+            default -> throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "O parâmetro tipo deve ser 'aluno', 'professor' ou 'curso'."
+            );
+        };
+    }
+}
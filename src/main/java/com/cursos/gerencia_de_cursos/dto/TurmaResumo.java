@@ -0,0 +1,16 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+import java.time.LocalDate;
+
+public record TurmaResumo(
+    Long id,
+    String codigoTurma,
+    LocalDate dataInicio,
+    LocalDate dataFim,
+    Integer capacidade,
+    Integer vagasOcupadas,
+    Long cursoId,
+    String cursoNome,
+    Long professorId,
+    String professorNome) {
+}
@@ -0,0 +1,12 @@
+package com.cursos.gerencia_de_cursos.dto;
+
+/**
+ * Versões que compõem a representação de uma turma: a própria turma e o curso
+ * e o professor embutidos nela.
+ */
+public record VersoesTurma(Long turma, Long curso, Long professor) {
+
+    public String etag() {
+        return "\"" + turma + "-" + curso + "-" + professor + "\"";
+    }
+}
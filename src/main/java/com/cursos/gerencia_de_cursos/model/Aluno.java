@@ -1,12 +1,16 @@
 package com.cursos.gerencia_de_cursos.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -15,25 +19,31 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data 
 @NoArgsConstructor 
 @AllArgsConstructor 
 @JsonIgnoreProperties("turmas")
-
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_aluno_cpf", columnNames = "cpf"))
 public class Aluno {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     @NotBlank(message = "O nome é obrigatório.")
     private String nome;
 
     @NotBlank(message = "O CPF é obrigatório.")
     @Size(min = 11, max = 14, message = "O CPF deve ter entre 11 e 14 caracteres (incluindo formatação).")
-    @Column(unique = true) 
     private String cpf;
 
     @NotBlank(message = "O e-mail é obrigatório.")
@@ -0,0 +1,34 @@
+package com.cursos.gerencia_de_cursos.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.Formula;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de um curso. {@code turmas} é mantido pelas gravações de
+ * turmas; {@code matriculados} é a soma das vagas ocupadas das turmas do
+ * curso, lida pelo índice {@code idx_turma_curso}.
+ */
+@Entity
+@Table(name = "estatistica_curso")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaCurso {
+
+    @Id
+    private Long cursoId;
+
+    @Column(nullable = false)
+    private Long turmas;
+
+    @Formula("(select coalesce(sum(t.vagas_ocupadas), 0) from turma t where t.curso_id = curso_id)")
+    private Long matriculados;
+}
@@ -0,0 +1,37 @@
+package com.cursos.gerencia_de_cursos.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.Formula;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contadores de um professor. {@code horasAula} é a soma da carga horária do
+ * curso de cada turma que ele leciona; {@code matriculados}, a soma das vagas
+ * ocupadas dessas turmas, lida pelo índice {@code idx_turma_professor}.
+ */
+@Entity
+@Table(name = "estatistica_professor")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaProfessor {
+
+    @Id
+    private Long professorId;
+
+    @Column(nullable = false)
+    private Long turmas;
+
+    @Formula("(select coalesce(sum(t.vagas_ocupadas), 0) from turma t where t.professor_id = professor_id)")
+    private Long matriculados;
+
+    @Column(nullable = false)
+    private Long horasAula;
+}
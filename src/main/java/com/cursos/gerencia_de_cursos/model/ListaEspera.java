@@ -0,0 +1,44 @@
+package com.cursos.gerencia_de_cursos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aluno aguardando vaga em uma turma lotada. A ordem de chegada é a ordem do
+ * {@code id}; a primeira entrada é promovida quando uma vaga é liberada.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "lista_espera",
+    uniqueConstraints = @UniqueConstraint(name = "uk_lista_espera_turma_aluno", columnNames = {"turma_id", "aluno_id"}),
+    indexes = @Index(name = "idx_lista_espera_turma", columnList = "turma_id, id"))
+
+public class ListaEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "turma_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Turma turma;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "aluno_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Aluno aluno;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+}
@@ -0,0 +1,62 @@
+package com.cursos.gerencia_de_cursos.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Resposta gravada para uma chave de idempotência (cabeçalho
+ * {@code Idempotency-Key}). Enquanto a primeira requisição com a chave está em
+ * andamento, {@code status} fica nulo e {@code reserva} identifica quem a
+ * executa. {@code hashCorpo} é o SHA-256 do corpo da requisição, e
+ * {@code localizacao}/{@code etag} guardam os cabeçalhos {@code Location} e
+ * {@code ETag} da resposta.
+ */
+@Entity
+@Table(name = "requisicao_idempotente", indexes = @Index(name = "idx_requisicao_idempotente_criacao", columnList = "criada_em"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequisicaoIdempotente {
+
+    @Id
+    @Column(length = 100)
+    private String chave;
+
+    @Column(nullable = false, length = 10)
+    private String metodo;
+
+    @Column(nullable = false)
+    private String caminho;
+
+    @Column(length = 36)
+    private String reserva;
+
+    @Column(length = 64)
+    private String hashCorpo;
+
+    private Integer status;
+
+    private String tipoConteudo;
+
+    @Lob
+    @Column(length = 16_777_215)
+    private byte[] corpo;
+
+    @Column(length = 2048)
+    private String localizacao;
+
+    private String etag;
+
+    @Column(nullable = false)
+    private Instant criadaEm;
+}
@@ -2,13 +2,17 @@ package com.cursos.gerencia_de_cursos.model;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -19,6 +23,13 @@ import java.util.Set;
 @NoArgsConstructor 
 @AllArgsConstructor
 @JsonIgnoreProperties("alunos")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_turma_codigo", columnNames = "codigo_turma"), indexes = {
+    @Index(name = "idx_turma_curso", columnList = "curso_id, id"),
+    @Index(name = "idx_turma_professor", columnList = "professor_id, id"),
+    @Index(name = "idx_turma_professor_periodo", columnList = "professor_id, data_inicio, data_fim"),
+    @Index(name = "idx_turma_periodo", columnList = "data_inicio, data_fim"),
+    @Index(name = "idx_turma_fim", columnList = "data_fim, id")
+})
 
 public class Turma {
 
@@ -26,8 +37,13 @@ public class Turma {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     @NotBlank(message = "O código da turma é obrigatório.")
-    @Column(unique = true)
     private String codigoTurma;
 
     @NotNull(message = "A data de início é obrigatória.")
@@ -36,23 +52,33 @@ public class Turma {
     @NotNull(message = "A data de fim é obrigatória.")
     private LocalDate dataFim;
 
+    @Min(value = 1, message = "A capacidade deve ser de no mínimo 1 aluno.")
+    private Integer capacidade;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer vagasOcupadas = 0;
+
     
     @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "curso_id", nullable = false)
+    @JoinColumn(name = "curso_id", nullable = false, foreignKey = @ForeignKey(name = "fk_turma_curso"))
     @NotNull(message = "A turma deve estar associada a um Curso.")
     private Curso curso;
 
     @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "professor_id", nullable = false)
+    @JoinColumn(name = "professor_id", nullable = false, foreignKey = @ForeignKey(name = "fk_turma_professor"))
     @NotNull(message = "A turma deve ter um Professor responsável.")
     private Professor professor;
 
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
         name = "turma_aluno", 
         joinColumns = @JoinColumn(name = "turma_id"),
-        inverseJoinColumns = @JoinColumn(name = "aluno_id"))
+        inverseJoinColumns = @JoinColumn(name = "aluno_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_turma_aluno", columnNames = {"turma_id", "aluno_id"}))
     private Set<Aluno> alunos = new HashSet<>();
 
 }
\ No newline at end of file
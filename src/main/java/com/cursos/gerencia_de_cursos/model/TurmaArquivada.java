@@ -0,0 +1,73 @@
+package com.cursos.gerencia_de_cursos.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Turma encerrada movida para {@code turma_historico} pelo arquivamento, com
+ * as matrículas em {@code turma_aluno_historico}. Mantém o id que tinha como
+ * {@link Turma} e não é mais alterada.
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties("alunos")
+@Table(name = "turma_historico", indexes = {
+    @Index(name = "idx_turma_historico_codigo", columnList = "codigo_turma"),
+    @Index(name = "idx_turma_historico_curso", columnList = "curso_id, id"),
+    @Index(name = "idx_turma_historico_professor", columnList = "professor_id, id"),
+    @Index(name = "idx_turma_historico_periodo", columnList = "data_inicio, data_fim")
+})
+public class TurmaArquivada {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(nullable = false)
+    private String codigoTurma;
+
+    @Column(nullable = false)
+    private LocalDate dataInicio;
+
+    @Column(nullable = false)
+    private LocalDate dataFim;
+
+    private Integer capacidade;
+
+    @Column(nullable = false)
+    private Integer vagasOcupadas;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "curso_id", nullable = false, foreignKey = @ForeignKey(name = "fk_turma_historico_curso"))
+    private Curso curso;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "professor_id", nullable = false, foreignKey = @ForeignKey(name = "fk_turma_historico_professor"))
+    private Professor professor;
+
+    @Column(nullable = false)
+    private Instant arquivadaEm;
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @JoinTable(
+        name = "turma_aluno_historico",
+        joinColumns = @JoinColumn(name = "turma_id"),
+        inverseJoinColumns = @JoinColumn(name = "aluno_id"))
+    private Set<Aluno> alunos = new HashSet<>();
+}
@@ -0,0 +1,29 @@
+package com.cursos.gerencia_de_cursos.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Carimbo de alteração de uma coleção inteira (ex.: "cursos"), incrementado a
+ * cada inclusão, alteração ou exclusão. Serve de ETag para as listagens.
+ */
+@Entity
+@Table(name = "versao_colecao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoColecao {
+
+    @Id
+    @Column(length = 50)
+    private String nome;
+
+    @Column(nullable = false)
+    private Long versao;
+}
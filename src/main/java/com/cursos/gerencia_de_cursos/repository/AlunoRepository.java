@@ -1,13 +1,17 @@
 package com.cursos.gerencia_de_cursos.repository;
 
 import com.cursos.gerencia_de_cursos.model.Aluno;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AlunoRepository extends CrudRepository<Aluno, Long> {
+public interface AlunoRepository extends JpaRepository<Aluno, Long> {
     
     Optional<Aluno> findByCpf(String cpf);
+
+    List<Aluno> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.cursos.gerencia_de_cursos.repository;
 
 import com.cursos.gerencia_de_cursos.model.Curso;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface CursoRepository extends CrudRepository<Curso, Long> {
-    
+public interface CursoRepository extends JpaRepository<Curso, Long> {
+
+    List<Curso> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
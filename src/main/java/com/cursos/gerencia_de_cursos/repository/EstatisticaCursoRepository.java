@@ -0,0 +1,9 @@
+package com.cursos.gerencia_de_cursos.repository;
+
+import com.cursos.gerencia_de_cursos.model.EstatisticaCurso;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EstatisticaCursoRepository extends JpaRepository<EstatisticaCurso, Long> {
+}
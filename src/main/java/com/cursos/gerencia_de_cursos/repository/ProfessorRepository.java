@@ -1,10 +1,21 @@
 package com.cursos.gerencia_de_cursos.repository;
 
+import com.cursos.gerencia_de_cursos.dto.ProfessorResumo;
 import com.cursos.gerencia_de_cursos.model.Professor;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface ProfessorRepository extends CrudRepository<Professor, Long> {
-    
+public interface ProfessorRepository extends JpaRepository<Professor, Long> {
+
+    List<Professor> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select new com.cursos.gerencia_de_cursos.dto.ProfessorResumo(p.id, p.nome, p.areaEspecializacao) "
+         + "from Professor p where p.id > :id order by p.id")
+    List<ProfessorResumo> findResumosByIdGreaterThan(@Param("id") Long id, Limit limit);
 }
\ No newline at end of file
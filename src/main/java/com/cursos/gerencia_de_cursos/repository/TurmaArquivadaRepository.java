@@ -0,0 +1,21 @@
+package com.cursos.gerencia_de_cursos.repository;
+
+import com.cursos.gerencia_de_cursos.model.TurmaArquivada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TurmaArquivadaRepository extends JpaRepository<TurmaArquivada, Long> {
+
+    /**
+     * Inicializa, em uma única consulta, a coleção {@code alunos} das turmas
+     * arquivadas informadas, que já devem estar no contexto de persistência.
+     */
+    @Query("select distinct t from TurmaArquivada t left join fetch t.alunos where t.id in :ids")
+    List<TurmaArquivada> carregarAlunos(@Param("ids") Collection<Long> ids);
+}
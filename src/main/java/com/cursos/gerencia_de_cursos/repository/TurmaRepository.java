@@ -1,13 +1,33 @@
 package com.cursos.gerencia_de_cursos.repository;
 
+import com.cursos.gerencia_de_cursos.dto.VersoesTurma;
 import com.cursos.gerencia_de_cursos.model.Turma;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TurmaRepository extends CrudRepository<Turma, Long> {
+public interface TurmaRepository extends JpaRepository<Turma, Long>, TurmaRepositoryCustom {
     
     Optional<Turma> findByCodigoTurma(String codigoTurma);
-}
\ No newline at end of file
+
+    /**
+     * Versões da turma e dos registros embutidos na sua representação, para
+     * montar a ETag sem carregar a entidade.
+     */
+    @Query("select new com.cursos.gerencia_de_cursos.dto.VersoesTurma(t.versao, c.versao, p.versao) "
+         + "from Turma t join t.curso c join t.professor p where t.id = :id")
+    Optional<VersoesTurma> findVersoesById(@Param("id") Long id);
+
+    /**
+     * Inicializa, em uma única consulta, a coleção {@code alunos} das turmas
+     * informadas, que já devem estar no contexto de persistência.
+     */
+    @Query("select distinct t from Turma t left join fetch t.alunos where t.id in :ids")
+    List<Turma> carregarAlunos(@Param("ids") Collection<Long> ids);
+}
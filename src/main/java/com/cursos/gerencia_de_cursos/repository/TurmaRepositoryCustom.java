@@ -0,0 +1,31 @@
+package com.cursos.gerencia_de_cursos.repository;
+
+import com.cursos.gerencia_de_cursos.dto.FiltroTurma;
+import com.cursos.gerencia_de_cursos.dto.TurmaResumo;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.model.TurmaArquivada;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * Consultas de turmas com filtros opcionais. Só as condições informadas
+ * entram no SQL, para que o banco escolha o índice do filtro usado.
+ */
+public interface TurmaRepositoryCustom {
+
+    List<Turma> buscarPorFiltro(FiltroTurma filtro, Long after, Limit limit);
+
+    List<TurmaResumo> buscarResumosPorFiltro(FiltroTurma filtro, Long after, Limit limit);
+
+    /** Mesmos filtros, sobre as turmas arquivadas. */
+    List<TurmaArquivada> buscarArquivadasPorFiltro(FiltroTurma filtro, Long after, Limit limit);
+
+    List<TurmaResumo> buscarResumosArquivadosPorFiltro(FiltroTurma filtro, Long after, Limit limit);
+
+    /**
+     * Relê a turma do banco depois de alterações feitas por SQL direto (vagas
+     * e versão), que o contexto de persistência não enxerga.
+     */
+    Turma recarregar(Turma turma);
+}
@@ -0,0 +1,91 @@
+package com.cursos.gerencia_de_cursos.repository;
+
+import com.cursos.gerencia_de_cursos.dto.FiltroTurma;
+import com.cursos.gerencia_de_cursos.dto.TurmaResumo;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.model.TurmaArquivada;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class TurmaRepositoryCustomImpl implements TurmaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Turma> buscarPorFiltro(FiltroTurma filtro, Long after, Limit limit) {
+        return consultar(
+            "select t from Turma t join fetch t.curso c join fetch t.professor p",
+            Turma.class, filtro, after, limit);
+    }
+
+    @Override
+    public List<TurmaResumo> buscarResumosPorFiltro(FiltroTurma filtro, Long after, Limit limit) {
+        return consultar(
+            "select new com.cursos.gerencia_de_cursos.dto.TurmaResumo("
+                + "t.id, t.codigoTurma, t.dataInicio, t.dataFim, t.capacidade, t.vagasOcupadas, c.id, c.nome, p.id, p.nome) "
+                + "from Turma t join t.curso c join t.professor p",
+            TurmaResumo.class, filtro, after, limit);
+    }
+
+    @Override
+    public List<TurmaArquivada> buscarArquivadasPorFiltro(FiltroTurma filtro, Long after, Limit limit) {
+        return consultar(
+            "select t from TurmaArquivada t join fetch t.curso c join fetch t.professor p",
+            TurmaArquivada.class, filtro, after, limit);
+    }
+
+    @Override
+    public List<TurmaResumo> buscarResumosArquivadosPorFiltro(FiltroTurma filtro, Long after, Limit limit) {
+        return consultar(
+            "select new com.cursos.gerencia_de_cursos.dto.TurmaResumo("
+                + "t.id, t.codigoTurma, t.dataInicio, t.dataFim, t.capacidade, t.vagasOcupadas, c.id, c.nome, p.id, p.nome) "
+                + "from TurmaArquivada t join t.curso c join t.professor p",
+            TurmaResumo.class, filtro, after, limit);
+    }
+
+    @Override
+    @Transactional
+    public Turma recarregar(Turma turma) {
+        if (!entityManager.contains(turma)) {
+            return entityManager.find(Turma.class, turma.getId());
+        }
+        entityManager.refresh(turma);
+        return turma;
+    }
+
+    private <T> List<T> consultar(String select, Class<T> tipo, FiltroTurma filtro, Long after, Limit limit) {
+        StringBuilder jpql = new StringBuilder(select).append(" where t.id > :after");
+        Map<String, Object> parametros = new HashMap<>();
+        parametros.put("after", after);
+
+        if (filtro.cursoId() != null) {
+            jpql.append(" and t.curso.id = :cursoId");
+            parametros.put("cursoId", filtro.cursoId());
+        }
+        if (filtro.professorId() != null) {
+            jpql.append(" and t.professor.id = :professorId");
+            parametros.put("professorId", filtro.professorId());
+        }
+        if (filtro.dataFim() != null) {
+            jpql.append(" and t.dataInicio <= :dataFim");
+            parametros.put("dataFim", filtro.dataFim());
+        }
+        if (filtro.dataInicio() != null) {
+            jpql.append(" and t.dataFim >= :dataInicio");
+            parametros.put("dataInicio", filtro.dataInicio());
+        }
+        jpql.append(" order by t.id");
+
+        TypedQuery<T> consulta = entityManager.createQuery(jpql.toString(), tipo);
+        parametros.forEach(consulta::setParameter);
+        return consulta.setMaxResults(limit.max()).getResultList();
+    }
+}
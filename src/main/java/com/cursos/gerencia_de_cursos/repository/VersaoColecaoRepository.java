@@ -0,0 +1,23 @@
+package com.cursos.gerencia_de_cursos.repository;
+
+import com.cursos.gerencia_de_cursos.model.VersaoColecao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface VersaoColecaoRepository extends JpaRepository<VersaoColecao, String> {
+
+    @Query("select v.versao from VersaoColecao v where v.nome = :nome")
+    Optional<Long> buscarVersao(@Param("nome") String nome);
+
+    @Modifying
+    @Transactional
+    @Query("update VersaoColecao v set v.versao = v.versao + 1 where v.nome = :nome")
+    int incrementar(@Param("nome") String nome);
+}
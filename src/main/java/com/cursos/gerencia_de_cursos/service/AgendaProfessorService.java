@@ -0,0 +1,95 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.ConflitoAgenda;
+import com.cursos.gerencia_de_cursos.model.Turma;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Impede que um professor assuma duas turmas com períodos sobrepostos.
+ *
+ * <p>A verificação roda na transação que grava a turma: a linha do professor
+ * é bloqueada ({@code select ... for update}) e a sobreposição é consultada
+ * pelo índice {@code idx_turma_professor_periodo}. Duas gravações para o
+ * mesmo professor, em qualquer instância, ficam em fila no banco, e a
+ * segunda já enxerga a turma gravada pela primeira.
+ *
+ * <p>Como as turmas de um professor não se sobrepõem, a que começa por último
+ * até o fim do novo período é também a que termina por último entre elas:
+ * basta ler essa linha, uma descida no índice, e comparar o fim dela com o
+ * início do novo período. Sobreposições antigas, gravadas antes desta
+ * verificação, podem escapar dela e aparecem em {@link #listarConflitos()}.
+ */
+@Service
+public class AgendaProfessorService {
+
+    private static final String CONSULTA_SOBREPOSICAO = """
+        select id from (
+            select id, data_fim from turma
+            where professor_id = ? and data_inicio <= ? and id <> ?
+            order by data_inicio desc
+            limit 1
+        ) ultima
+        where data_fim >= ?""";
+
+    // Cada par aparece uma vez: a turma conflitante é a que começa depois (ou, no mesmo dia, a de id maior)
+    private static final String CONSULTA_CONFLITOS = """
+        select a.professor_id, a.id as turma_id, b.id as conflitante_id,
+               b.data_inicio as inicio, least(a.data_fim, b.data_fim) as fim
+        from turma a
+        join turma b on b.professor_id = a.professor_id
+            and b.data_inicio <= a.data_fim
+            and (b.data_inicio > a.data_inicio or (b.data_inicio = a.data_inicio and b.id > a.id))
+        order by a.professor_id, a.id, b.id""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifica se o professor da turma está livre no período dela. Deve ser
+     * chamado dentro da transação que grava a turma, para que o bloqueio do
+     * professor valha até o commit.
+     *
+     * @throws ResponseStatusException 400 se o período for inválido e 409 se
+     *         houver sobreposição com outra turma do professor
+     */
+    @Transactional
+    public void verificarDisponibilidade(Turma turma) {
+        if (turma.getDataFim().isBefore(turma.getDataInicio())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A data de fim não pode ser anterior à data de início.");
+        }
+        Long professorId = turma.getProfessor().getId();
+        List<Long> professor = jdbcTemplate.queryForList("select id from professor where id = ? for update", Long.class, professorId);
+        if (professor.isEmpty()) {
+            // Professor inexistente: a gravação falha pela chave estrangeira
+            return;
+        }
+        long turmaId = turma.getId() == null ? 0 : turma.getId();
+        List<Long> conflitos = jdbcTemplate.queryForList(CONSULTA_SOBREPOSICAO, Long.class,
+            professorId, turma.getDataFim(), turmaId, turma.getDataInicio());
+        if (!conflitos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "O professor já leciona a turma " + conflitos.get(0) + " neste período.");
+        }
+    }
+
+    /**
+     * Pares de turmas sobrepostas de um mesmo professor, cada par listado uma
+     * vez. Cobre dados gravados antes desta verificação existir ou por fora
+     * da aplicação.
+     */
+    @Transactional(readOnly = true)
+    public List<ConflitoAgenda> listarConflitos() {
+        return jdbcTemplate.query(CONSULTA_CONFLITOS, (rs, i) -> new ConflitoAgenda(
+            rs.getLong("professor_id"), rs.getLong("turma_id"), rs.getLong("conflitante_id"),
+            rs.getObject("inicio", LocalDate.class), rs.getObject("fim", LocalDate.class)));
+    }
+}
@@ -0,0 +1,173 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Move as turmas encerradas há mais de {@code gerencia.arquivamento.idade-minima}
+ * e as suas matrículas para {@code turma_historico} e
+ * {@code turma_aluno_historico}, mantendo {@code turma} e {@code turma_aluno}
+ * do tamanho do que está em uso.
+ *
+ * <p>O trabalho é feito em lotes pequenos, cada um na sua transação, com uma
+ * pausa entre eles para não disputar o banco com as requisições. A execução
+ * periódica roda no executor da aplicação, fora da thread do agendador, e em
+ * uma instância por vez: quem pega a trava {@value #TRAVA_ARQUIVAMENTO}
+ * (ver {@link TravaExecucaoService}) fica com ela até o próximo intervalo.
+ * Turmas arquivadas deixam de contar nas estatísticas de curso e professor,
+ * como as excluídas, e saem da agenda dos professores. O fechamento de
+ * período ({@link FechamentoPeriodoService}) lê também o histórico, então
+ * arquivar não tira turmas dos certificados.
+ */
+@Service
+public class ArquivamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    public static final String TRAVA_ARQUIVAMENTO = "arquivamento_turmas";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EstatisticaService estatisticaService;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+    @Autowired
+    private TravaExecucaoService travaExecucaoService;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    @Value("${gerencia.arquivamento.habilitado:true}")
+    private boolean habilitado;
+    @Value("${gerencia.arquivamento.intervalo:PT6H}")
+    private Duration intervalo;
+    @Value("${gerencia.arquivamento.idade-minima:365d}")
+    private Duration idadeMinima;
+    @Value("${gerencia.arquivamento.tamanho-lote:100}")
+    private int tamanhoLote;
+    @Value("${gerencia.arquivamento.pausa-entre-lotes:500ms}")
+    private Duration pausaEntreLotes;
+
+    private final AtomicBoolean executando = new AtomicBoolean();
+
+    @Scheduled(
+        initialDelayString = "${gerencia.arquivamento.intervalo:PT6H}",
+        fixedDelayString = "${gerencia.arquivamento.intervalo:PT6H}")
+    public void agendar() {
+        if (!habilitado || !executando.compareAndSet(false, true)) {
+            return;
+        }
+        if (!travaExecucaoService.adquirir(TRAVA_ARQUIVAMENTO, intervalo)) {
+            executando.set(false);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                arquivar(LocalDate.now().minusDays(idadeMinima.toDays()));
+            } catch (RuntimeException e) {
+                travaExecucaoService.liberar(TRAVA_ARQUIVAMENTO);
+                log.error("Arquivamento de turmas interrompido", e);
+            } finally {
+                executando.set(false);
+            }
+        });
+    }
+
+    /**
+     * Arquiva, lote a lote, as turmas com data de fim anterior a
+     * {@code encerradasAntesDe}.
+     *
+     * @return o número de turmas arquivadas
+     */
+    public long arquivar(LocalDate encerradasAntesDe) {
+        long total = 0;
+        int arquivadas;
+        do {
+            arquivadas = arquivarLote(encerradasAntesDe);
+            total += arquivadas;
+            if (arquivadas == tamanhoLote) {
+                pausar();
+            }
+        } while (arquivadas == tamanhoLote);
+        if (total > 0) {
+            log.info("{} turmas encerradas antes de {} arquivadas", total, encerradasAntesDe);
+        }
+        return total;
+    }
+
+    /**
+     * Copia as turmas do lote e as suas matrículas para o histórico e as
+     * remove das tabelas principais. As turmas ficam bloqueadas do início ao
+     * fim, de modo que uma matrícula simultânea ou entra antes da cópia ou
+     * não encontra mais a turma. A ordem segue {@code idx_turma_fim}, para que
+     * o lote seja lido (e bloqueado) só no trecho do índice que vai ser
+     * arquivado.
+     */
+    private int arquivarLote(LocalDate encerradasAntesDe) {
+        List<Map<String, Object>> turmas = transactionTemplate.execute(status -> {
+            List<Map<String, Object>> lote = jdbcTemplate.queryForList(
+                "select id, curso_id, professor_id from turma where data_fim < ? order by data_fim, id limit ? for update",
+                encerradasAntesDe, tamanhoLote);
+            if (lote.isEmpty()) {
+                return lote;
+            }
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", lote.stream().map(linha -> linha.get("id")).toList())
+                .addValue("arquivadaEm", Timestamp.from(Instant.now()));
+            namedJdbcTemplate.update(
+                "insert into turma_historico (id, versao, codigo_turma, data_inicio, data_fim, capacidade, vagas_ocupadas, "
+              + "curso_id, professor_id, arquivada_em) "
+              + "select id, versao, codigo_turma, data_inicio, data_fim, capacidade, vagas_ocupadas, curso_id, professor_id, :arquivadaEm "
+              + "from turma where id in (:ids)", ids);
+            namedJdbcTemplate.update(
+                "insert into turma_aluno_historico (turma_id, aluno_id) "
+              + "select turma_id, aluno_id from turma_aluno where turma_id in (:ids)", ids);
+            namedJdbcTemplate.update("delete from turma_aluno where turma_id in (:ids)", ids);
+            namedJdbcTemplate.update("delete from lista_espera where turma_id in (:ids)", ids);
+            namedJdbcTemplate.update("delete from turma where id in (:ids)", ids);
+
+            for (Map<String, Object> turma : lote) {
+                estatisticaService.registrarTurma(((Number) turma.get("curso_id")).longValue(),
+                    ((Number) turma.get("professor_id")).longValue(), -1);
+            }
+            return lote;
+        });
+
+        for (Map<String, Object> turma : turmas) {
+            Long id = ((Number) turma.get("id")).longValue();
+            feedAlteracoesService.publicar("turma", FeedAlteracoesService.ARQUIVADO, id);
+        }
+        return turmas.size();
+    }
+
+    private void pausar() {
+        try {
+            Thread.sleep(pausaEntreLotes.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Arquivamento interrompido.", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Leitura com cache de Cursos e Professores. As instâncias devolvidas são
+ * compartilhadas entre requisições e não devem ser alteradas; quem altera ou
+ * remove um registro deve chamar o método de invalidação correspondente.
+ */
+@Service
+public class CatalogoService {
+
+    public static final String CACHE_CURSOS = "cursos";
+    public static final String CACHE_PROFESSORES = "professores";
+
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CACHE_CURSOS, unless = "#result == null")
+    public Optional<Curso> buscarCurso(Long id) {
+        return cursoRepository.findById(id);
+    }
+
+    @Cacheable(cacheNames = CACHE_PROFESSORES, unless = "#result == null")
+    public Optional<Professor> buscarProfessor(Long id) {
+        return professorRepository.findById(id);
+    }
+
+    /**
+     * Curso para associação: a instância em cache ou, na falta dela, uma
+     * referência não carregada. A existência fica a cargo da chave estrangeira.
+     */
+    public Curso referenciaCurso(Long id) {
+        Curso emCache = cacheManager.getCache(CACHE_CURSOS).get(id, Curso.class);
+        return emCache != null ? emCache : cursoRepository.getReferenceById(id);
+    }
+
+    public Professor referenciaProfessor(Long id) {
+        Professor emCache = cacheManager.getCache(CACHE_PROFESSORES).get(id, Professor.class);
+        return emCache != null ? emCache : professorRepository.getReferenceById(id);
+    }
+
+    @CacheEvict(cacheNames = CACHE_CURSOS)
+    public void invalidarCurso(Long id) {
+    }
+
+    @CacheEvict(cacheNames = CACHE_PROFESSORES)
+    public void invalidarProfessor(Long id) {
+    }
+}
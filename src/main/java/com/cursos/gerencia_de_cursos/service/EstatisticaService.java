@@ -0,0 +1,222 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.EstatisticaTurma;
+import com.cursos.gerencia_de_cursos.model.EstatisticaCurso;
+import com.cursos.gerencia_de_cursos.model.EstatisticaProfessor;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.EstatisticaCursoRepository;
+import com.cursos.gerencia_de_cursos.repository.EstatisticaProfessorRepository;
+import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Contadores de matrículas por turma, curso e professor, e de turmas e
+ * horas-aula por curso e professor. A turma usa o próprio
+ * {@code vagas_ocupadas}, e os matriculados de curso e professor são a soma
+ * desse contador nas suas turmas, calculada na leitura. Assim a matrícula só
+ * altera a linha da turma, e matrículas em turmas diferentes do mesmo curso
+ * não disputam nenhuma linha.
+ *
+ * <p>Turmas e horas-aula ficam em {@code estatistica_curso} e
+ * {@code estatistica_professor}; os métodos de ajuste devem ser chamados na
+ * mesma transação da gravação da turma ou do curso.
+ *
+ * <p>{@link #reconciliar()} recalcula tudo a partir de {@code turma_aluno} e
+ * {@code turma}, corrigindo o que tiver sido gravado por fora desses caminhos;
+ * a execução periódica roda em uma instância só ({@link TravaExecucaoService}).
+ */
+@Service
+public class EstatisticaService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticaService.class);
+
+    public static final String TRAVA_RECONCILIACAO = "reconciliacao_estatisticas";
+
+    private static final String CRIAR_CURSO =
+        "insert into estatistica_curso (curso_id, turmas) select ?, 0 from dual "
+      + "where not exists (select 1 from estatistica_curso where curso_id = ?)";
+    private static final String CRIAR_PROFESSOR =
+        "insert into estatistica_professor (professor_id, turmas, horas_aula) select ?, 0, 0 from dual "
+      + "where not exists (select 1 from estatistica_professor where professor_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EstatisticaCursoRepository estatisticaCursoRepository;
+    @Autowired
+    private EstatisticaProfessorRepository estatisticaProfessorRepository;
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private TravaExecucaoService travaExecucaoService;
+
+    @Value("${gerencia.estatisticas.intervalo-reconciliacao:PT10M}")
+    private Duration intervaloReconciliacao;
+    @Value("${gerencia.estatisticas.tamanho-lote-reconciliacao:500}")
+    private int tamanhoLote;
+
+    /**
+     * Conta (ou, com {@code sinal} -1, desconta) uma turma no curso e no
+     * professor informados.
+     */
+    public void registrarTurma(Long cursoId, Long professorId, int sinal) {
+        garantirLinhas(cursoId, professorId);
+        jdbcTemplate.update(
+            "update estatistica_curso set turmas = turmas + ? where curso_id = ?", sinal, cursoId);
+        jdbcTemplate.update(
+            "update estatistica_professor set turmas = turmas + ?, "
+          + "horas_aula = horas_aula + ? * (select carga_horaria from curso where id = ?) where professor_id = ?",
+            sinal, sinal, cursoId, professorId);
+    }
+
+    /**
+     * Reflete a mudança de carga horária de um curso nas horas-aula de quem
+     * leciona turmas dele.
+     */
+    @Transactional
+    public void registrarCargaHoraria(Long cursoId, int diferenca) {
+        if (diferenca == 0) {
+            return;
+        }
+        jdbcTemplate.update(
+            "update estatistica_professor e set horas_aula = horas_aula + ? * "
+          + "(select count(*) from turma t where t.professor_id = e.professor_id and t.curso_id = ?) "
+          + "where e.professor_id in (select professor_id from turma where curso_id = ?)",
+            diferenca, cursoId, cursoId);
+    }
+
+    public EstatisticaTurma turma(Long turmaId) {
+        List<EstatisticaTurma> encontradas = jdbcTemplate.query(
+            "select id, vagas_ocupadas, capacidade from turma where id = ?",
+            (rs, linha) -> new EstatisticaTurma(rs.getLong("id"), rs.getInt("vagas_ocupadas"), (Integer) rs.getObject("capacidade", Integer.class)),
+            turmaId);
+        if (encontradas.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada com ID: " + turmaId);
+        }
+        return encontradas.get(0);
+    }
+
+    public EstatisticaCurso curso(Long cursoId) {
+        return estatisticaCursoRepository.findById(cursoId).orElseGet(() -> {
+            if (!cursoRepository.existsById(cursoId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Curso não encontrado com ID: " + cursoId);
+            }
+            return new EstatisticaCurso(cursoId, 0L, 0L);
+        });
+    }
+
+    public EstatisticaProfessor professor(Long professorId) {
+        return estatisticaProfessorRepository.findById(professorId).orElseGet(() -> {
+            if (!professorRepository.existsById(professorId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Professor não encontrado com ID: " + professorId);
+            }
+            return new EstatisticaProfessor(professorId, 0L, 0L, 0L);
+        });
+    }
+
+    /**
+     * Execução periódica de {@link #reconciliar()}, em uma instância por vez:
+     * quem roda fica com a trava por um intervalo inteiro, e as demais pulam
+     * a vez enquanto ela valer.
+     */
+    @Scheduled(
+        initialDelayString = "${gerencia.estatisticas.intervalo-reconciliacao:PT10M}",
+        fixedDelayString = "${gerencia.estatisticas.intervalo-reconciliacao:PT10M}")
+    public void agendarReconciliacao() {
+        if (!travaExecucaoService.adquirir(TRAVA_RECONCILIACAO, intervaloReconciliacao)) {
+            return;
+        }
+        try {
+            reconciliar();
+        } catch (RuntimeException e) {
+            travaExecucaoService.liberar(TRAVA_RECONCILIACAO);
+            throw e;
+        }
+    }
+
+    /**
+     * Recalcula os contadores a partir das tabelas de origem, em lotes de
+     * {@code gerencia.estatisticas.tamanho-lote-reconciliacao} chaves
+     * consecutivas. Cada comando roda na própria transação, lê as linhas de
+     * origem no mesmo comando e só grava as linhas divergentes, de modo que
+     * bloqueia poucas linhas por pouco tempo.
+     */
+    public void reconciliar() {
+        int turmas = emLotes("turma", "id",
+            "update turma t set vagas_ocupadas = (select count(*) from turma_aluno ta where ta.turma_id = t.id), versao = versao + 1 "
+          + "where t.id between ? and ? and vagas_ocupadas <> (select count(*) from turma_aluno ta where ta.turma_id = t.id)");
+
+        jdbcTemplate.update("delete from estatistica_curso where curso_id not in (select id from curso)");
+        jdbcTemplate.update("insert into estatistica_curso (curso_id, turmas) select c.id, 0 from curso c "
+            + "where not exists (select 1 from estatistica_curso e where e.curso_id = c.id)");
+        int cursos = emLotes("estatistica_curso", "curso_id",
+            "update estatistica_curso e set turmas = (select count(*) from turma t where t.curso_id = e.curso_id) "
+          + "where e.curso_id between ? and ? and turmas <> (select count(*) from turma t where t.curso_id = e.curso_id)");
+
+        jdbcTemplate.update("delete from estatistica_professor where professor_id not in (select id from professor)");
+        jdbcTemplate.update("insert into estatistica_professor (professor_id, turmas, horas_aula) select p.id, 0, 0 from professor p "
+            + "where not exists (select 1 from estatistica_professor e where e.professor_id = p.id)");
+        int professores = emLotes("estatistica_professor", "professor_id",
+            "update estatistica_professor e set "
+          + "turmas = (select count(*) from turma t where t.professor_id = e.professor_id), "
+          + "horas_aula = (select coalesce(sum(c.carga_horaria), 0) from turma t join curso c on c.id = t.curso_id where t.professor_id = e.professor_id) "
+          + "where e.professor_id between ? and ? and ("
+          + "turmas <> (select count(*) from turma t where t.professor_id = e.professor_id) or "
+          + "horas_aula <> (select coalesce(sum(c.carga_horaria), 0) from turma t join curso c on c.id = t.curso_id where t.professor_id = e.professor_id))");
+
+        log.info("Estatísticas reconciliadas; corrigidos {} turmas, {} cursos e {} professores", turmas, cursos, professores);
+    }
+
+    /**
+     * Percorre {@code tabela} pela chave, em faixas de até {@code tamanhoLote}
+     * linhas, aplicando {@code atualizacao} (com os limites da faixa como
+     * parâmetros) a cada uma.
+     *
+     * @return o total de linhas alteradas
+     */
+    private int emLotes(String tabela, String chave, String atualizacao) {
+        String consulta = "select " + chave + " from " + tabela + " where " + chave + " > ? order by " + chave + " limit ?";
+        int alteradas = 0;
+        long ultima = 0;
+        while (true) {
+            List<Long> chaves = jdbcTemplate.queryForList(consulta, Long.class, ultima, tamanhoLote);
+            if (chaves.isEmpty()) {
+                return alteradas;
+            }
+            ultima = chaves.get(chaves.size() - 1);
+            alteradas += jdbcTemplate.update(atualizacao, chaves.get(0), ultima);
+            if (chaves.size() < tamanhoLote) {
+                return alteradas;
+            }
+        }
+    }
+
+    private void garantirLinhas(Long cursoId, Long professorId) {
+        try {
+            jdbcTemplate.update(CRIAR_CURSO, cursoId, cursoId);
+        } catch (DuplicateKeyException e) {
+            // criada por outra transação ao mesmo tempo
+        }
+        try {
+            jdbcTemplate.update(CRIAR_PROFESSOR, professorId, professorId);
+        } catch (DuplicateKeyException e) {
+            // criada por outra transação ao mesmo tempo
+        }
+    }
+}
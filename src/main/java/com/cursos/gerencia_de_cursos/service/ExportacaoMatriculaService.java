@@ -0,0 +1,88 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.MatriculaExportada;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exporta todas as matrículas como NDJSON lendo um cursor do banco apenas
+ * para frente, sem passar pelo contexto de persistência. A memória usada
+ * depende do tamanho do bloco de leitura, não do número de matrículas.
+ *
+ * <p>No MySQL o Connector/J só deixa de carregar o resultado inteiro com
+ * {@code useCursorFetch} na URL, o que valeria para a aplicação toda, ou com
+ * o fetch size {@link Integer#MIN_VALUE}, que lê as linhas uma a uma conforme
+ * chegam. Este serviço usa o segundo modo, restrito ao próprio
+ * {@link JdbcTemplate}; nos demais bancos vale {@code gerencia.exportacao.fetch-size}.
+ */
+@Service
+public class ExportacaoMatriculaService {
+
+    private static final String CONSULTA_MATRICULAS =
+        "select t.id as turma_id, t.codigo_turma, c.nome as curso, p.nome as professor, "
+      + "a.id as aluno_id, a.cpf, a.email "
+      + "from turma_aluno ta "
+      + "join turma t on t.id = ta.turma_id "
+      + "join curso c on c.id = t.curso_id "
+      + "join professor p on p.id = t.professor_id "
+      + "join aluno a on a.id = ta.aluno_id "
+      + "order by ta.turma_id, ta.aluno_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter writer;
+    private final int linhasPorEnvio;
+
+    public ExportacaoMatriculaService(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${gerencia.exportacao.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.MYSQL ? Integer.MIN_VALUE : fetchSize);
+        this.writer = objectMapper.writerFor(MatriculaExportada.class);
+        this.linhasPorEnvio = fetchSize;
+    }
+
+    public void exportar(OutputStream destino) throws IOException {
+        BufferedOutputStream saida = new BufferedOutputStream(destino, 64 * 1024);
+        jdbcTemplate.query(CONSULTA_MATRICULAS, new RowCallbackHandler() {
+            private long linhas;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                MatriculaExportada matricula = new MatriculaExportada(
+                    rs.getLong("turma_id"),
+                    rs.getString("codigo_turma"),
+                    rs.getString("curso"),
+                    rs.getString("professor"),
+                    rs.getLong("aluno_id"),
+                    rs.getString("cpf"),
+                    rs.getString("email"));
+                try {
+                    saida.write(writer.writeValueAsBytes(matricula));
+                    saida.write('\n');
+                    if (++linhas % linhasPorEnvio == 0) {
+                        saida.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        saida.flush();
+    }
+}
@@ -0,0 +1,329 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.AndamentoFechamento;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fechamento de período: gera, para cada turma encerrada antes da data de
+ * referência, a lista de alunos e um certificado de conclusão por aluno, em
+ * arquivos de texto sob {@code gerencia.fechamento.diretorio/<data>}.
+ *
+ * <p>As turmas são lidas em blocos pelo id, junto com as suas matrículas, e
+ * cada bloco é gerado num pool fork-join enquanto o próximo é lido. Nunca há
+ * mais de dois blocos em memória. Ao fim de cada bloco o andamento é gravado
+ * em {@code andamento.json}; uma execução interrompida recomeça do bloco
+ * seguinte ao último concluído, regravando no máximo um bloco. A execução
+ * roda numa thread própria, fora do executor da aplicação, já que pode levar
+ * muito tempo e só uma acontece por vez.
+ *
+ * <p>Turmas encerradas podem já ter sido movidas pelo
+ * {@link ArquivamentoService} para {@code turma_historico} e
+ * {@code turma_aluno_historico}; as consultas leem as duas origens. A turma
+ * mantém o id ao ser arquivada, então a paginação pelo id não muda, e uma
+ * turma vista nas duas tabelas no meio do arquivamento aparece uma vez só
+ * ({@code union}).
+ */
+@Service
+public class FechamentoPeriodoService {
+
+    private static final Logger log = LoggerFactory.getLogger(FechamentoPeriodoService.class);
+
+    private static final String ARQUIVO_ANDAMENTO = "andamento.json";
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final String CONSULTA_TURMAS =
+        "select t.id, t.codigo_turma, t.data_inicio, t.data_fim, c.nome as curso, c.carga_horaria, p.nome as professor "
+      + "from ("
+      + "(select id, codigo_turma, data_inicio, data_fim, curso_id, professor_id from turma "
+      + "where data_fim < :dataReferencia and id > :apos order by id limit :limite) "
+      + "union "
+      + "(select id, codigo_turma, data_inicio, data_fim, curso_id, professor_id from turma_historico "
+      + "where data_fim < :dataReferencia and id > :apos order by id limit :limite)"
+      + ") t "
+      + "join curso c on c.id = t.curso_id "
+      + "join professor p on p.id = t.professor_id "
+      + "order by t.id limit :limite";
+    private static final String CONSULTA_ALUNOS =
+        "select m.turma_id, a.id, a.nome, a.cpf "
+      + "from ("
+      + "select turma_id, aluno_id from turma_aluno where turma_id in (:turmas) "
+      + "union "
+      + "select turma_id, aluno_id from turma_aluno_historico where turma_id in (:turmas)"
+      + ") m join aluno a on a.id = m.aluno_id "
+      + "order by m.turma_id, a.nome, a.id";
+    private static final String CONTAGEM_TURMAS =
+        "select (select count(*) from turma where data_fim < ?) + (select count(*) from turma_historico where data_fim < ?)";
+
+    record AlunoConcluinte(Long id, String nome, String cpf) {
+    }
+
+    record TurmaEncerrada(Long id, String codigo, LocalDate dataInicio, LocalDate dataFim,
+                          String curso, int cargaHoraria, String professor, List<AlunoConcluinte> alunos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate leitura;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final ForkJoinPool pool;
+    private final Path raiz;
+    private final int tamanhoBloco;
+
+    private volatile AndamentoFechamento atual;
+
+    public FechamentoPeriodoService(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${gerencia.fechamento.diretorio:fechamento}") Path raiz,
+            @Value("${gerencia.fechamento.tamanho-bloco:200}") int tamanhoBloco,
+            @Value("${gerencia.fechamento.paralelismo:0}") int paralelismo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("fechamento-periodo-"));
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.raiz = raiz;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Inicia em segundo plano o fechamento das turmas encerradas antes de
+     * {@code dataReferencia}, retomando do andamento gravado, se houver. Com
+     * {@code refazer}, o andamento gravado é descartado e tudo é gerado de novo.
+     */
+    public synchronized AndamentoFechamento iniciar(LocalDate dataReferencia, boolean refazer) {
+        if (atual != null && atual.situacao() == AndamentoFechamento.Situacao.EM_ANDAMENTO) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Já existe um fechamento em andamento (data de referência " + atual.dataReferencia() + ").");
+        }
+        AndamentoFechamento anterior = refazer ? null : lerAndamento(dataReferencia);
+        if (anterior != null && anterior.situacao() == AndamentoFechamento.Situacao.CONCLUIDO) {
+            atual = anterior;
+            return anterior;
+        }
+        Long total = jdbcTemplate.queryForObject(CONTAGEM_TURMAS, Long.class, dataReferencia, dataReferencia);
+        AndamentoFechamento iniciado = AndamentoFechamento.iniciar(dataReferencia, total, anterior);
+        atual = iniciado;
+        gravarAndamento(iniciado);
+        // A execução já pode ter avançado atual quando a resposta é montada
+        executor.execute(this::executar);
+        return iniciado;
+    }
+
+    public AndamentoFechamento andamento(LocalDate dataReferencia) {
+        AndamentoFechamento andamento = atual;
+        if (andamento != null && andamento.dataReferencia().equals(dataReferencia)) {
+            return andamento;
+        }
+        andamento = lerAndamento(dataReferencia);
+        if (andamento == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhum fechamento para a data de referência " + dataReferencia + ".");
+        }
+        return andamento;
+    }
+
+    private void executar() {
+        LocalDate dataReferencia = atual.dataReferencia();
+        Path destino = raiz.resolve(dataReferencia.toString());
+        long inicio = System.nanoTime();
+        try {
+            List<TurmaEncerrada> bloco = lerBloco(dataReferencia, atual.ultimaTurmaId());
+            while (!bloco.isEmpty()) {
+                ForkJoinTask<Long> geracao = pool.submit(new Geracao(destino, bloco, 0, bloco.size()));
+                List<TurmaEncerrada> proximo = bloco.size() < tamanhoBloco
+                    ? List.of()
+                    : lerBloco(dataReferencia, bloco.get(bloco.size() - 1).id());
+                long certificados = geracao.join();
+
+                atual = atual.avancar(bloco.size(), certificados, bloco.get(bloco.size() - 1).id());
+                gravarAndamento(atual);
+                log.info("Fechamento {}: {}/{} turmas, {} certificados", dataReferencia,
+                    atual.turmasProcessadas(), atual.turmasTotal(), atual.certificados());
+                bloco = proximo;
+            }
+            atual = atual.concluir();
+            gravarAndamento(atual);
+            log.info("Fechamento {} concluído em {} ms", dataReferencia, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException | Error e) {
+            // Também para um Error (falta de memória, por exemplo): sem isso o andamento ficaria EM_ANDAMENTO para sempre
+            log.error("Fechamento {} interrompido após a turma {}", dataReferencia, atual.ultimaTurmaId(), e);
+            atual = atual.falhar(String.valueOf(e.getMessage()));
+            gravarAndamento(atual);
+            if (e instanceof Error erro) {
+                throw erro;
+            }
+        }
+    }
+
+    /**
+     * Lê as próximas turmas encerradas depois de {@code aposId} com as suas
+     * matrículas: uma consulta para as turmas e outra para os alunos do bloco,
+     * cada uma sobre as tabelas principais e as de histórico.
+     */
+    private List<TurmaEncerrada> lerBloco(LocalDate dataReferencia, long aposId) {
+        return leitura.execute(status -> {
+            MapSqlParameterSource parametros = new MapSqlParameterSource("dataReferencia", dataReferencia)
+                .addValue("apos", aposId)
+                .addValue("limite", tamanhoBloco);
+            List<TurmaEncerrada> turmas = namedJdbcTemplate.query(CONSULTA_TURMAS, parametros, (rs, linha) -> new TurmaEncerrada(
+                rs.getLong("id"),
+                rs.getString("codigo_turma"),
+                rs.getObject("data_inicio", LocalDate.class),
+                rs.getObject("data_fim", LocalDate.class),
+                rs.getString("curso"),
+                rs.getInt("carga_horaria"),
+                rs.getString("professor"),
+                new ArrayList<>()));
+            if (turmas.isEmpty()) {
+                return turmas;
+            }
+            Map<Long, TurmaEncerrada> porId = new HashMap<>();
+            turmas.forEach(turma -> porId.put(turma.id(), turma));
+            namedJdbcTemplate.query(CONSULTA_ALUNOS,
+                new MapSqlParameterSource("turmas", porId.keySet()),
+                rs -> {
+                    porId.get(rs.getLong("turma_id")).alunos()
+                        .add(new AlunoConcluinte(rs.getLong("id"), rs.getString("nome"), rs.getString("cpf")));
+                });
+            return turmas;
+        });
+    }
+
+    /**
+     * Divide o bloco ao meio até restarem poucas turmas, que são geradas na
+     * própria tarefa. Devolve o número de certificados gerados.
+     */
+    private static class Geracao extends RecursiveTask<Long> {
+
+        private static final int LIMIAR = 4;
+
+        private final Path destino;
+        private final List<TurmaEncerrada> turmas;
+        private final int inicio;
+        private final int fim;
+
+        Geracao(Path destino, List<TurmaEncerrada> turmas, int inicio, int fim) {
+            this.destino = destino;
+            this.turmas = turmas;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected Long compute() {
+            if (fim - inicio <= LIMIAR) {
+                long certificados = 0;
+                for (int i = inicio; i < fim; i++) {
+                    certificados += gerarDocumentos(destino, turmas.get(i));
+                }
+                return certificados;
+            }
+            int meio = (inicio + fim) >>> 1;
+            Geracao esquerda = new Geracao(destino, turmas, inicio, meio);
+            esquerda.fork();
+            return new Geracao(destino, turmas, meio, fim).compute() + esquerda.join();
+        }
+    }
+
+    private static int gerarDocumentos(Path destino, TurmaEncerrada turma) {
+        Path pasta = destino.resolve("turma-" + turma.id());
+        try {
+            Files.createDirectories(pasta);
+            Files.writeString(pasta.resolve("lista.txt"), lista(turma), StandardCharsets.UTF_8);
+            for (AlunoConcluinte aluno : turma.alunos()) {
+                Files.writeString(pasta.resolve("certificado-" + aluno.id() + ".txt"), certificado(turma, aluno), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar os documentos da turma " + turma.codigo(), e);
+        }
+        return turma.alunos().size();
+    }
+
+    static String lista(TurmaEncerrada turma) {
+        StringBuilder texto = new StringBuilder(256 + turma.alunos().size() * 64)
+            .append("Turma ").append(turma.codigo()).append('\n')
+            .append("Curso: ").append(turma.curso()).append(" (").append(turma.cargaHoraria()).append(" horas)\n")
+            .append("Professor: ").append(turma.professor()).append('\n')
+            .append("Período: ").append(DATA.format(turma.dataInicio())).append(" a ").append(DATA.format(turma.dataFim())).append('\n')
+            .append("Alunos: ").append(turma.alunos().size()).append("\n\n");
+        for (AlunoConcluinte aluno : turma.alunos()) {
+            texto.append(aluno.nome()).append(" - CPF ").append(aluno.cpf()).append('\n');
+        }
+        return texto.toString();
+    }
+
+    static String certificado(TurmaEncerrada turma, AlunoConcluinte aluno) {
+        return "CERTIFICADO DE CONCLUSÃO\n\n"
+            + "Certificamos que " + aluno.nome() + ", CPF " + aluno.cpf() + ", concluiu o curso "
+            + turma.curso() + ", com carga horária de " + turma.cargaHoraria() + " horas, na turma "
+            + turma.codigo() + ", ministrada por " + turma.professor() + " de "
+            + DATA.format(turma.dataInicio()) + " a " + DATA.format(turma.dataFim()) + ".\n";
+    }
+
+    private AndamentoFechamento lerAndamento(LocalDate dataReferencia) {
+        Path arquivo = raiz.resolve(dataReferencia.toString()).resolve(ARQUIVO_ANDAMENTO);
+        if (!Files.exists(arquivo)) {
+            return null;
+        }
+        return objectMapper.readValue(arquivo.toFile(), AndamentoFechamento.class);
+    }
+
+    /**
+     * Grava num arquivo temporário e o renomeia, para que uma interrupção no
+     * meio da gravação não deixe um andamento pela metade.
+     */
+    private void gravarAndamento(AndamentoFechamento andamento) {
+        Path pasta = raiz.resolve(andamento.dataReferencia().toString());
+        try {
+            Files.createDirectories(pasta);
+            Path temporario = pasta.resolve(ARQUIVO_ANDAMENTO + ".tmp");
+            Files.write(temporario, objectMapper.writeValueAsBytes(andamento));
+            Files.move(temporario, pasta.resolve(ARQUIVO_ANDAMENTO), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o andamento do fechamento em " + pasta, e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.EventoAlteracao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed de alterações enviado por SSE. As gravações chamam {@link #publicar};
+ * dentro de uma transação o evento só segue depois do commit, fora dela segue
+ * na hora.
+ *
+ * <p>Os eventos recebem um número de sequência e ficam num buffer circular
+ * com os mais recentes, de onde um cliente que reconecta recebe o que perdeu
+ * (pelo parâmetro {@code desde} ou pelo cabeçalho {@code Last-Event-ID}).
+ * A sequência só existe na memória desta instância e recomeça quando ela
+ * reinicia, por isso o id de cada evento é {@code época-sequência}, com uma
+ * época sorteada na partida: a retomada só é aceita no mesmo fluxo, e um id
+ * de outra época (outra instância, ou esta antes de reiniciar) recebe
+ * {@code lacuna}.
+ *
+ * <p>O feed é local: o assinante só recebe as gravações atendidas pela mesma
+ * instância que mantém a conexão dele. Com várias instâncias atrás do
+ * balanceador, um cliente que precise de todas as alterações deve assinar
+ * cada instância ou complementar o feed relendo as listagens.
+ *
+ * <p>Cada assinante tem uma fila limitada esvaziada por uma tarefa num pool
+ * próprio do feed ({@code gerencia.alteracoes.threads-envio}), separado do
+ * executor da aplicação, já que {@link SseEmitter#send} bloqueia enquanto o
+ * cliente não lê. A publicação nunca espera pela rede; o assinante que deixa
+ * a fila encher, ou cujo envio passa de {@code gerencia.alteracoes.prazo-envio},
+ * é desconectado e deve retomar a partir da última sequência.
+ */
+@Service
+public class FeedAlteracoesService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedAlteracoesService.class);
+
+    public static final String CRIADO = "criado";
+    public static final String ALTERADO = "alterado";
+    public static final String REMOVIDO = "removido";
+    public static final String ARQUIVADO = "arquivado";
+
+    /** Alteração ainda sem sequência, aguardando o commit. */
+    record Alteracao(String entidade, String operacao, Long id, Long alunoId) {
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${gerencia.alteracoes.historico:10000}")
+    private int tamanhoHistorico;
+    @Value("${gerencia.alteracoes.fila-assinante:1000}")
+    private int tamanhoFila;
+    @Value("${gerencia.alteracoes.threads-envio:4}")
+    private int threadsEnvio;
+    @Value("${gerencia.alteracoes.fila-envio:10000}")
+    private int tamanhoFilaEnvio;
+    @Value("${gerencia.alteracoes.prazo-envio:PT10S}")
+    private Duration prazoEnvio;
+
+    private ThreadPoolExecutor executor;
+
+    private final Deque<EventoAlteracao> historico = new ArrayDeque<>();
+    private final Set<Assinante> assinantes = new CopyOnWriteArraySet<>();
+    private final String epoca = UUID.randomUUID().toString().substring(0, 8);
+    private long sequencia;
+
+    @PostConstruct
+    void iniciar() {
+        executor = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(tamanhoFilaEnvio), new CustomizableThreadFactory("feed-alteracoes-"));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    public void publicar(String entidade, String operacao, Long id) {
+        eventPublisher.publishEvent(new Alteracao(entidade, operacao, id, null));
+    }
+
+    public void publicarMatricula(String operacao, Long turmaId, Long alunoId) {
+        eventPublisher.publishEvent(new Alteracao("matricula", operacao, turmaId, alunoId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoConfirmar(Alteracao alteracao) {
+        synchronized (this) {
+            EventoAlteracao evento = new EventoAlteracao(++sequencia, alteracao.entidade(), alteracao.operacao(),
+                alteracao.id(), alteracao.alunoId(), Instant.now());
+            historico.addLast(evento);
+            if (historico.size() > tamanhoHistorico) {
+                historico.removeFirst();
+            }
+            for (Assinante assinante : assinantes) {
+                assinante.oferecer(evento);
+            }
+        }
+    }
+
+    /**
+     * Registra um assinante que recebe, primeiro, os eventos do histórico
+     * posteriores a {@code desde} (um id de evento) e, depois, os novos.
+     * Quando não dá para garantir que nada se perdeu — id de outra época,
+     * sequência que este fluxo ainda não emitiu ou já fora do histórico — um
+     * evento {@code lacuna} avisa o cliente para recarregar as listagens; o id
+     * dele é a posição atual do fluxo, de onde seguem os eventos novos.
+     */
+    public SseEmitter assinar(String desde) {
+        SseEmitter emitter = new SseEmitter();
+        Assinante assinante = new Assinante(emitter);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(erro -> assinantes.remove(assinante));
+
+        synchronized (this) {
+            if (desde != null) {
+                long primeira = historico.isEmpty() ? sequencia + 1 : historico.getFirst().sequencia();
+                Long ultima = sequenciaDoFluxo(desde);
+                if (ultima == null || ultima > sequencia || ultima < primeira - 1) {
+                    assinante.pendentes.add(SseEmitter.event()
+                        .id(idEvento(sequencia))
+                        .name("lacuna")
+                        .data(sequencia, MediaType.APPLICATION_JSON));
+                } else {
+                    for (EventoAlteracao evento : historico) {
+                        if (evento.sequencia() > ultima) {
+                            assinante.pendentes.add(paraSse(evento));
+                        }
+                    }
+                }
+            }
+            assinantes.add(assinante);
+        }
+        assinante.agendarEnvio();
+        return emitter;
+    }
+
+    /**
+     * Desconecta os assinantes com um envio em curso há mais de
+     * {@code gerencia.alteracoes.prazo-envio}: a thread que envia é
+     * interrompida e volta ao pool assim que a escrita na conexão termina.
+     */
+    @Scheduled(fixedDelayString = "${gerencia.alteracoes.verificacao-envio:PT1S}")
+    public void desconectarLentos() {
+        long limite = System.nanoTime() - prazoEnvio.toNanos();
+        for (Assinante assinante : assinantes) {
+            assinante.expirarSeAtrasado(limite);
+        }
+    }
+
+    /**
+     * Sequência contida em um id de evento deste fluxo, ou {@code null} se o
+     * id for de outra época ou estiver malformado.
+     */
+    private Long sequenciaDoFluxo(String idEvento) {
+        int separador = idEvento.lastIndexOf('-');
+        if (separador < 0 || !idEvento.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(idEvento.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String idEvento(long sequencia) {
+        return epoca + "-" + sequencia;
+    }
+
+    private SseEmitter.SseEventBuilder paraSse(EventoAlteracao evento) {
+        return SseEmitter.event()
+            .id(idEvento(evento.sequencia()))
+            .name(evento.entidade())
+            .data(evento, MediaType.APPLICATION_JSON);
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pendentes = new ArrayDeque<>();
+        private final Deque<SseEmitter.SseEventBuilder> fila = new ArrayDeque<>();
+        private boolean enviando;
+        private boolean encerrado;
+        private Thread remetente;
+        private long envioDesde;
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void oferecer(EventoAlteracao evento) {
+            synchronized (this) {
+                if (encerrado) {
+                    return;
+                }
+                if (fila.size() >= tamanhoFila) {
+                    encerrado = true;
+                    assinantes.remove(this);
+                    log.warn("Assinante do feed de alterações desconectado por não acompanhar o ritmo dos eventos");
+                    if (!enviando) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                fila.addLast(paraSse(evento));
+            }
+            agendarEnvio();
+        }
+
+        void agendarEnvio() {
+            synchronized (this) {
+                if (enviando || encerrado || (pendentes.isEmpty() && fila.isEmpty())) {
+                    return;
+                }
+                enviando = true;
+            }
+            try {
+                executor.execute(this::enviar);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    encerrado = true;
+                    enviando = false;
+                }
+                assinantes.remove(this);
+                log.warn("Assinante do feed de alterações desconectado: pool de envio sem vaga");
+                emitter.complete();
+            }
+        }
+
+        void expirarSeAtrasado(long limite) {
+            synchronized (this) {
+                if (encerrado || remetente == null || envioDesde - limite > 0) {
+                    return;
+                }
+                encerrado = true;
+                remetente.interrupt();
+            }
+            assinantes.remove(this);
+            log.warn("Assinante do feed de alterações desconectado: envio parado há mais de {}", prazoEnvio);
+        }
+
+        private void enviar() {
+            while (true) {
+                List<SseEmitter.SseEventBuilder> lote = new ArrayList<>();
+                synchronized (this) {
+                    lote.addAll(pendentes);
+                    pendentes.clear();
+                    lote.addAll(fila);
+                    fila.clear();
+                    if (encerrado) {
+                        enviando = false;
+                        emitter.complete();
+                        return;
+                    }
+                    if (lote.isEmpty()) {
+                        enviando = false;
+                        return;
+                    }
+                    remetente = Thread.currentThread();
+                    envioDesde = System.nanoTime();
+                }
+                try {
+                    for (SseEmitter.SseEventBuilder evento : lote) {
+                        emitter.send(evento);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        encerrado = true;
+                        enviando = false;
+                        remetente = null;
+                    }
+                    Thread.interrupted();
+                    assinantes.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+                synchronized (this) {
+                    remetente = null;
+                }
+                // Interrupção de expirarSeAtrasado que chegou depois da escrita: não vale para a próxima tarefa
+                Thread.interrupted();
+            }
+        }
+    }
+}
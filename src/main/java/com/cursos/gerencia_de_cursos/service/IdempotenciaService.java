@@ -0,0 +1,117 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.model.RequisicaoIdempotente;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Registro das chaves de idempotência na tabela {@code requisicao_idempotente}.
+ * A reserva é a inserção da chave: a chave primária garante que só uma
+ * requisição a executa, mesmo com várias instâncias da aplicação.
+ *
+ * <p>A reserva funciona como um arrendamento: se a instância que a fez cair
+ * antes de concluir ou liberar, a chave volta a poder ser reservada depois de
+ * {@code gerencia.idempotencia.prazo-reserva}. Enquanto a requisição executa,
+ * {@link #manterReserva} renova o arrendamento a cada terço do prazo, de modo
+ * que uma gravação mais longa que o prazo (um lote grande de matrículas) não
+ * perde a chave para uma repetição. Cada reserva recebe um identificador
+ * próprio, e só quem a detém conclui, renova ou libera a chave.
+ */
+@Service
+public class IdempotenciaService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaService.class);
+
+    private static final String RECUPERAR_RESERVA = """
+        update requisicao_idempotente set metodo = ?, caminho = ?, hash_corpo = ?, reserva = ?, criada_em = ?
+        where chave = ? and status is null and criada_em < ?""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${gerencia.idempotencia.validade:24h}")
+    private Duration validade;
+    @Value("${gerencia.idempotencia.prazo-reserva:30s}")
+    private Duration prazoReserva;
+
+    /**
+     * @return o identificador da reserva, ou vazio se a chave já foi usada
+     *         (ou está em uso dentro do prazo da reserva)
+     */
+    public Optional<String> reservar(String chave, String metodo, String caminho, String hashCorpo) {
+        String reserva = UUID.randomUUID().toString();
+        Instant agora = Instant.now();
+        try {
+            jdbcTemplate.update("insert into requisicao_idempotente (chave, metodo, caminho, hash_corpo, reserva, criada_em) values (?, ?, ?, ?, ?, ?)",
+                chave, metodo, caminho, hashCorpo, reserva, Timestamp.from(agora));
+            return Optional.of(reserva);
+        } catch (DuplicateKeyException e) {
+            int recuperadas = jdbcTemplate.update(RECUPERAR_RESERVA, metodo, caminho, hashCorpo, reserva, Timestamp.from(agora),
+                chave, Timestamp.from(agora.minus(prazoReserva)));
+            return recuperadas == 1 ? Optional.of(reserva) : Optional.empty();
+        }
+    }
+
+    /**
+     * Renova a reserva periodicamente até o retorno ser cancelado, o que o
+     * chamador faz ao concluir ou liberar a chave.
+     */
+    public ScheduledFuture<?> manterReserva(String chave, String reserva) {
+        Duration intervalo = prazoReserva.dividedBy(3);
+        return taskScheduler.scheduleWithFixedDelay(() -> renovar(chave, reserva), Instant.now().plus(intervalo), intervalo);
+    }
+
+    private void renovar(String chave, String reserva) {
+        try {
+            jdbcTemplate.update("update requisicao_idempotente set criada_em = ? where chave = ? and reserva = ? and status is null",
+                Timestamp.from(Instant.now()), chave, reserva);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao renovar a reserva da chave de idempotência {}", chave, e);
+        }
+    }
+
+    public Optional<RequisicaoIdempotente> buscar(String chave) {
+        return jdbcTemplate.query(
+            "select chave, metodo, caminho, reserva, hash_corpo, status, tipo_conteudo, corpo, localizacao, etag, criada_em "
+                + "from requisicao_idempotente where chave = ?",
+            (rs, linha) -> new RequisicaoIdempotente(rs.getString("chave"), rs.getString("metodo"), rs.getString("caminho"),
+                rs.getString("reserva"), rs.getString("hash_corpo"), (Integer) rs.getObject("status"), rs.getString("tipo_conteudo"),
+                rs.getBytes("corpo"), rs.getString("localizacao"), rs.getString("etag"), rs.getTimestamp("criada_em").toInstant()),
+            chave).stream().findFirst();
+    }
+
+    public void concluir(String chave, String reserva, int status, String tipoConteudo, byte[] corpo, String localizacao, String etag) {
+        jdbcTemplate.update("update requisicao_idempotente set status = ?, tipo_conteudo = ?, corpo = ?, localizacao = ?, etag = ? "
+                + "where chave = ? and reserva = ? and status is null",
+            status, tipoConteudo, corpo, localizacao, etag, chave, reserva);
+    }
+
+    /**
+     * Desfaz a reserva de uma requisição que falhou, para que o cliente possa repeti-la.
+     */
+    public void liberar(String chave, String reserva) {
+        jdbcTemplate.update("delete from requisicao_idempotente where chave = ? and reserva = ? and status is null", chave, reserva);
+    }
+
+    @Scheduled(fixedDelayString = "${gerencia.idempotencia.intervalo-limpeza:PT1H}")
+    public void removerExpiradas() {
+        jdbcTemplate.update("delete from requisicao_idempotente where criada_em < ?", Timestamp.from(Instant.now().minus(validade)));
+    }
+}
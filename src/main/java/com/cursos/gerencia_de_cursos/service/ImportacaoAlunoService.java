@@ -0,0 +1,258 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.ImportacaoEvento;
+import com.cursos.gerencia_de_cursos.model.Aluno;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de alunos a partir de arquivos CSV (com cabeçalho nome,cpf,email)
+ * ou NDJSON, lidos linha a linha. As linhas válidas são acumuladas em blocos;
+ * cada bloco verifica CPFs duplicados com uma única consulta e é gravado com
+ * inserções em lote JDBC na sua própria transação.
+ */
+@Service
+public class ImportacaoAlunoService {
+
+    public enum Formato { CSV, NDJSON }
+
+    private static final int TAMANHO_BLOCO = 1000;
+    private static final String INSERIR_ALUNO = "insert into aluno (nome, cpf, email) values (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+
+    public void importar(InputStream entrada, Formato formato, Consumer<ImportacaoEvento> ouvinte) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        Importacao importacao = new Importacao(ouvinte);
+
+        Map<String, Integer> colunas = formato == Formato.CSV ? lerCabecalho(leitor.readLine()) : null;
+        long numeroLinha = formato == Formato.CSV ? 1 : 0;
+
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            importacao.lidas++;
+            try {
+                Aluno aluno = formato == Formato.CSV ? lerCsv(linha, colunas) : lerJson(linha);
+                importacao.adicionar(numeroLinha, aluno);
+            } catch (IllegalArgumentException | JacksonException e) {
+                importacao.rejeitar(numeroLinha, "Linha inválida: " + e.getMessage());
+            }
+        }
+        importacao.gravarBloco();
+        ouvinte.accept(ImportacaoEvento.resumo(importacao.lidas, importacao.importados, importacao.rejeitados));
+    }
+
+    private Map<String, Integer> lerCabecalho(String cabecalho) {
+        if (cabecalho == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo CSV vazio.");
+        }
+        List<String> nomes = separarCsv(cabecalho.replace("\uFEFF", ""));
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(), i);
+        }
+        if (!colunas.keySet().containsAll(List.of("nome", "cpf", "email"))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O cabeçalho do CSV deve conter as colunas nome, cpf e email.");
+        }
+        return colunas;
+    }
+
+    private Aluno lerCsv(String linha, Map<String, Integer> colunas) {
+        List<String> valores = separarCsv(linha);
+        if (valores.size() < colunas.size()) {
+            throw new IllegalArgumentException("esperadas " + colunas.size() + " colunas, encontradas " + valores.size() + ".");
+        }
+        Aluno aluno = new Aluno();
+        aluno.setNome(valores.get(colunas.get("nome")).trim());
+        aluno.setCpf(valores.get(colunas.get("cpf")).trim());
+        aluno.setEmail(valores.get(colunas.get("email")).trim());
+        return aluno;
+    }
+
+    private Aluno lerJson(String linha) {
+        Aluno aluno = objectMapper.readValue(linha, Aluno.class);
+        aluno.setId(null);
+        return aluno;
+    }
+
+    static List<String> separarCsv(String linha) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("aspas não fechadas.");
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+
+    private class Importacao {
+
+        private final Consumer<ImportacaoEvento> ouvinte;
+        private final Set<String> cpfsDoArquivo = new HashSet<>();
+        private final List<Long> linhasDoBloco = new ArrayList<>(TAMANHO_BLOCO);
+        private final List<Aluno> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        private long lidas;
+        private long importados;
+        private long rejeitados;
+
+        Importacao(Consumer<ImportacaoEvento> ouvinte) {
+            this.ouvinte = ouvinte;
+        }
+
+        void adicionar(long numeroLinha, Aluno aluno) {
+            Set<ConstraintViolation<Aluno>> violacoes = validator.validate(aluno);
+            if (!violacoes.isEmpty()) {
+                rejeitar(numeroLinha, violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" ")));
+                return;
+            }
+            if (!cpfsDoArquivo.add(aluno.getCpf())) {
+                rejeitar(numeroLinha, "CPF repetido no arquivo.");
+                return;
+            }
+            linhasDoBloco.add(numeroLinha);
+            bloco.add(aluno);
+            if (bloco.size() == TAMANHO_BLOCO) {
+                gravarBloco();
+            }
+        }
+
+        void rejeitar(long numeroLinha, String mensagem) {
+            rejeitados++;
+            ouvinte.accept(ImportacaoEvento.erro(numeroLinha, mensagem));
+        }
+
+        void gravarBloco() {
+            if (bloco.isEmpty()) {
+                return;
+            }
+            Set<String> cadastrados = new HashSet<>(namedJdbcTemplate.queryForList(
+                "select cpf from aluno where cpf in (:cpfs)",
+                new MapSqlParameterSource("cpfs", bloco.stream().map(Aluno::getCpf).toList()),
+                String.class));
+
+            List<Aluno> novos = new ArrayList<>(bloco.size());
+            for (int i = 0; i < bloco.size(); i++) {
+                if (cadastrados.contains(bloco.get(i).getCpf())) {
+                    rejeitar(linhasDoBloco.get(i), "CPF já cadastrado no sistema.");
+                } else {
+                    novos.add(bloco.get(i));
+                }
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERIR_ALUNO, novos, TAMANHO_BLOCO, (ps, aluno) -> {
+                        ps.setString(1, aluno.getNome());
+                        ps.setString(2, aluno.getCpf());
+                        ps.setString(3, aluno.getEmail());
+                    }));
+                importados += novos.size();
+                registrarInclusoes(novos);
+            } catch (DuplicateKeyException e) {
+                registrarInclusoes(gravarIndividualmente(novos));
+            }
+
+            bloco.clear();
+            linhasDoBloco.clear();
+            ouvinte.accept(ImportacaoEvento.progresso(lidas, importados, rejeitados));
+        }
+
+        /**
+         * As inserções em lote não devolvem os ids gerados; eles são lidos
+         * pelo CPF para atualizar o índice de busca e publicar as inclusões.
+         */
+        private void registrarInclusoes(List<Aluno> inseridos) {
+            if (inseridos.isEmpty()) {
+                return;
+            }
+            List<Aluno> gravados = namedJdbcTemplate.query(
+                "select id, nome, email from aluno where cpf in (:cpfs)",
+                new MapSqlParameterSource("cpfs", inseridos.stream().map(Aluno::getCpf).toList()),
+                (rs, linha) -> new Aluno(rs.getLong("id"), null, rs.getString("nome"), null, rs.getString("email")));
+            indiceBuscaService.indexarAlunos(gravados);
+            gravados.forEach(aluno -> feedAlteracoesService.publicar("aluno", FeedAlteracoesService.CRIADO, aluno.getId()));
+        }
+
+        /**
+         * Caminho de contingência para quando outro processo cadastrou um dos
+         * CPFs entre a verificação e a inserção do bloco.
+         */
+        private List<Aluno> gravarIndividualmente(List<Aluno> novos) {
+            List<Aluno> inseridos = new ArrayList<>(novos.size());
+            for (Aluno aluno : novos) {
+                try {
+                    jdbcTemplate.update(INSERIR_ALUNO, aluno.getNome(), aluno.getCpf(), aluno.getEmail());
+                    inseridos.add(aluno);
+                    importados++;
+                } catch (DuplicateKeyException e) {
+                    rejeitar(linhasDoBloco.get(bloco.indexOf(aluno)), "CPF já cadastrado no sistema.");
+                }
+            }
+            return inseridos;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.Pagina;
+import com.cursos.gerencia_de_cursos.dto.ResultadoBusca;
+import com.cursos.gerencia_de_cursos.dto.TipoRegistro;
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido no banco para a busca por prefixo de alunos (nome e
+ * e-mail), professores (nome e área) e cursos (nome). Cada registro tem uma
+ * linha em {@code documento_busca} (título e detalhe exibidos) e uma linha
+ * por termo em {@code termo_busca}; os termos são gravados sem acentos e em
+ * minúsculas, e a chave primária começa pelo termo, de modo que um prefixo
+ * vira uma faixa contígua do índice. O e-mail do aluno entra como um termo
+ * inteiro, mais as palavras da parte local: o domínio sozinho ({@code gmail},
+ * {@code com}) casaria com quase todo o cadastro.
+ *
+ * <p>Todas as instâncias consultam as mesmas tabelas. Os controllers e a
+ * importação chamam {@code indexar}/{@code remover} depois de cada gravação,
+ * já confirmada; uma falha no índice é registrada no log e não derruba a
+ * requisição. O documento afetado é descartado, se possível, e
+ * {@link #sincronizar()}, que roda periodicamente e em uma instância por vez,
+ * indexa os registros ausentes do índice e remove os que sumiram.
+ */
+@Service
+public class IndiceBuscaService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaService.class);
+
+    private static final String TRAVA_SINCRONIZACAO = "sincronizacao_busca";
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern CURINGAS_LIKE = Pattern.compile("[\\\\%_]");
+    private static final int MAXIMO_TERMOS_CONSULTA = 8;
+    private static final int MINIMO_PREFIXO = 2;
+    private static final int TAMANHO_COLUNA = 255;
+
+    private static final double PESO_EXATO_PRINCIPAL = 3.0;
+    private static final double PESO_PREFIXO_PRINCIPAL = 2.0;
+    private static final double PESO_EXATO_SECUNDARIO = 1.5;
+    private static final double PESO_PREFIXO_SECUNDARIO = 1.0;
+    private static final double BONUS_INICIO_DO_TITULO = 1.0;
+
+    private static final String REMOVER_TERMOS = "delete from termo_busca where tipo = ? and registro_id = ?";
+    private static final String REMOVER_DOCUMENTO = "delete from documento_busca where tipo = ? and registro_id = ?";
+    private static final String INSERIR_DOCUMENTO =
+        "insert into documento_busca (tipo, registro_id, titulo, detalhe, titulo_normalizado) values (?, ?, ?, ?, ?)";
+    private static final String INSERIR_TERMO =
+        "insert into termo_busca (termo, tipo, registro_id, principal) values (?, ?, ?, ?)";
+
+    /** Tabela de origem de cada tipo; {@code secundario} é o texto indexado além do título. */
+    private enum Origem {
+        ALUNO(TipoRegistro.ALUNO, "aluno", "nome as titulo, email as detalhe, email as secundario"),
+        PROFESSOR(TipoRegistro.PROFESSOR, "professor", "nome as titulo, area_especializacao as detalhe, area_especializacao as secundario"),
+        CURSO(TipoRegistro.CURSO, "curso", "nome as titulo, descricao as detalhe, null as secundario");
+
+        private final TipoRegistro tipo;
+        private final String tabela;
+        private final String colunas;
+
+        Origem(TipoRegistro tipo, String tabela, String colunas) {
+            this.tipo = tipo;
+            this.tabela = tabela;
+            this.colunas = colunas;
+        }
+    }
+
+    private record Documento(TipoRegistro tipo, Long id, String titulo, String detalhe, String textoSecundario) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private TravaExecucaoService travaExecucaoService;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    @Value("${gerencia.busca.intervalo-sincronizacao:PT1H}")
+    private Duration intervaloSincronizacao;
+    @Value("${gerencia.busca.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * As gravações no índice usam READ COMMITTED: em REPEATABLE READ, a
+     * exclusão de um documento que ainda não existe (todo registro novo)
+     * bloqueia o intervalo no fim do índice, e duas inclusões simultâneas
+     * entram em deadlock ao inserir nele.
+     */
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    public void indexar(Aluno aluno) {
+        indexarAluno(aluno.getId(), aluno.getNome(), aluno.getEmail());
+    }
+
+    public void indexar(Professor professor) {
+        gravarOuAdiar(List.of(new Documento(TipoRegistro.PROFESSOR, professor.getId(), professor.getNome(),
+            professor.getAreaEspecializacao(), professor.getAreaEspecializacao())));
+    }
+
+    public void indexar(Curso curso) {
+        gravarOuAdiar(List.of(new Documento(TipoRegistro.CURSO, curso.getId(), curso.getNome(), curso.getDescricao(), null)));
+    }
+
+    public void indexarAluno(Long id, String nome, String email) {
+        indexarAlunos(List.of(new Aluno(id, null, nome, null, email)));
+    }
+
+    /**
+     * Indexa vários alunos numa só transação, com os comandos em lote.
+     */
+    public void indexarAlunos(Collection<Aluno> alunos) {
+        gravarOuAdiar(alunos.stream()
+            .map(aluno -> new Documento(TipoRegistro.ALUNO, aluno.getId(), aluno.getNome(), aluno.getEmail(), aluno.getEmail()))
+            .toList());
+    }
+
+    /**
+     * Tira o registro do índice. Se falhar, o documento fica até a próxima
+     * sincronização, que remove os de registros que não existem mais.
+     */
+    public void remover(TipoRegistro tipo, Long id) {
+        try {
+            descartar(tipo, List.of(id));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao remover {} {} do índice de busca; fica para a sincronização", tipo, id, e);
+        }
+    }
+
+    /**
+     * Busca os registros que contêm, para cada palavra da consulta, algum
+     * termo começando por ela. A relevância soma o melhor casamento de cada
+     * palavra (exato vale mais que prefixo, nome vale mais que o campo
+     * secundário) e favorece títulos que começam pela consulta. Palavras com
+     * menos de {@value #MINIMO_PREFIXO} caracteres são ignoradas, e só a
+     * página pedida sai do banco, já ordenada. Uma palavra com {@code @} é
+     * procurada inteira, como prefixo do e-mail.
+     *
+     * <p>Ao contrário das listagens, a busca pagina por posição: a ordem é
+     * pela relevância, e não há um id crescente para servir de cursor.
+     * Registros gravados entre uma página e a seguinte podem deslocar itens.
+     *
+     * @param offset quantidade de resultados a pular; {@code proximoCursor}
+     *               traz o offset da página seguinte
+     */
+    public Pagina<ResultadoBusca> buscar(String consulta, Set<TipoRegistro> tipos, Long offset, int limit) {
+        int maximo = Pagina.limiteConsulta(limit).max() - 1;
+        List<String> palavras = tokenizarConsulta(consulta == null ? "" : consulta).stream()
+            .filter(palavra -> palavra.length() >= MINIMO_PREFIXO)
+            .limit(MAXIMO_TERMOS_CONSULTA)
+            .toList();
+        if (palavras.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Informe em q ao menos um termo com " + MINIMO_PREFIXO + " letras ou números.");
+        }
+
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+            .addValue("tipos", tipos.stream().map(TipoRegistro::name).toList())
+            .addValue("inicioTitulo", String.join(" ", palavras) + "%")
+            .addValue("bonus", BONUS_INICIO_DO_TITULO);
+        StringBuilder sql = new StringBuilder("select d.tipo, d.registro_id, d.titulo, d.detalhe, (");
+        for (int i = 0; i < palavras.size(); i++) {
+            sql.append("m").append(i).append(".pontos + ");
+        }
+        sql.append("case when d.titulo_normalizado like :inicioTitulo then :bonus else 0 end) as relevancia from documento_busca d");
+        for (int i = 0; i < palavras.size(); i++) {
+            sql.append(" join (select tipo, registro_id, max(case when termo = :termo").append(i)
+                .append(" then case when principal then ").append(PESO_EXATO_PRINCIPAL).append(" else ").append(PESO_EXATO_SECUNDARIO).append(" end")
+                .append(" else case when principal then ").append(PESO_PREFIXO_PRINCIPAL).append(" else ").append(PESO_PREFIXO_SECUNDARIO).append(" end end) as pontos")
+                .append(" from termo_busca where termo like :prefixo").append(i).append(" and tipo in (:tipos)")
+                .append(" group by tipo, registro_id) m").append(i)
+                .append(" on m").append(i).append(".tipo = d.tipo and m").append(i).append(".registro_id = d.registro_id");
+            parametros.addValue("termo" + i, palavras.get(i))
+                .addValue("prefixo" + i, CURINGAS_LIKE.matcher(palavras.get(i)).replaceAll("\\\\$0") + "%");
+        }
+        sql.append(" order by relevancia desc, lower(d.titulo), case d.tipo when 'ALUNO' then 0 when 'PROFESSOR' then 1 else 2 end, d.registro_id")
+            .append(" limit :limite offset :inicio");
+        long inicio = offset == null ? 0 : offset;
+        parametros.addValue("limite", maximo + 1).addValue("inicio", inicio);
+
+        List<ResultadoBusca> resultados = namedJdbcTemplate.query(sql.toString(), parametros, (rs, linha) -> new ResultadoBusca(
+            TipoRegistro.valueOf(rs.getString("tipo")), rs.getLong("registro_id"),
+            rs.getString("titulo"), rs.getString("detalhe"), rs.getDouble("relevancia")));
+        if (resultados.size() > maximo) {
+            return new Pagina<>(List.copyOf(resultados.subList(0, maximo)), inicio + maximo);
+        }
+        return new Pagina<>(resultados, null);
+    }
+
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARADORES.split(normalizar(texto)))
+            .filter(termo -> !termo.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    /**
+     * Termos de um e-mail: o endereço inteiro e as palavras da parte local.
+     */
+    static List<String> termosEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return List.of();
+        }
+        String endereco = limitar(normalizar(email.strip()));
+        int arroba = endereco.indexOf('@');
+        Set<String> termos = new LinkedHashSet<>();
+        termos.add(endereco);
+        termos.addAll(tokenizar(arroba < 0 ? endereco : endereco.substring(0, arroba)));
+        return List.copyOf(termos);
+    }
+
+    /**
+     * Palavras da consulta: as que têm {@code @} valem inteiras, para casar
+     * com o termo do e-mail; as demais são quebradas como no índice.
+     */
+    static List<String> tokenizarConsulta(String consulta) {
+        Set<String> palavras = new LinkedHashSet<>();
+        for (String trecho : ESPACOS.split(consulta.strip())) {
+            if (trecho.indexOf('@') >= 0) {
+                palavras.add(limitar(normalizar(trecho)));
+            } else {
+                palavras.addAll(tokenizar(trecho));
+            }
+        }
+        return List.copyOf(palavras);
+    }
+
+    private static String normalizar(String texto) {
+        return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sincronizarNaPartida() {
+        executor.execute(this::agendarSincronizacao);
+    }
+
+    @Scheduled(
+        initialDelayString = "${gerencia.busca.intervalo-sincronizacao:PT1H}",
+        fixedDelayString = "${gerencia.busca.intervalo-sincronizacao:PT1H}")
+    public void agendarSincronizacao() {
+        if (!travaExecucaoService.adquirir(TRAVA_SINCRONIZACAO, intervaloSincronizacao)) {
+            return;
+        }
+        try {
+            sincronizar();
+        } catch (RuntimeException e) {
+            travaExecucaoService.liberar(TRAVA_SINCRONIZACAO);
+            log.error("Sincronização do índice de busca interrompida", e);
+        }
+    }
+
+    /**
+     * Indexa, em lotes, os registros que ainda não estão no índice e remove
+     * os documentos cujos registros não existem mais. Registros alterados
+     * direto no banco só são reindexados pela próxima gravação pela API.
+     */
+    public void sincronizar() {
+        long inicio = System.nanoTime();
+        long indexados = 0;
+        long removidos = 0;
+        for (Origem origem : Origem.values()) {
+            indexados += indexarAusentes(origem);
+            removidos += removerOrfaos(origem);
+        }
+        if (indexados > 0 || removidos > 0) {
+            log.info("Índice de busca sincronizado: {} registros indexados e {} removidos em {} ms",
+                indexados, removidos, (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    private long indexarAusentes(Origem origem) {
+        String consulta = "select o.id, " + origem.colunas + " from " + origem.tabela + " o where o.id > ? "
+            + "and not exists (select 1 from documento_busca d where d.tipo = ? and d.registro_id = o.id) order by o.id limit ?";
+        long total = 0;
+        long ultimo = 0;
+        while (true) {
+            List<Documento> lote = jdbcTemplate.query(consulta, (rs, linha) -> new Documento(origem.tipo, rs.getLong("id"),
+                rs.getString("titulo"), rs.getString("detalhe"), rs.getString("secundario")), ultimo, origem.tipo.name(), tamanhoLote);
+            if (lote.isEmpty()) {
+                return total;
+            }
+            gravar(lote);
+            total += lote.size();
+            ultimo = lote.get(lote.size() - 1).id();
+        }
+    }
+
+    private long removerOrfaos(Origem origem) {
+        String consulta = "select d.registro_id from documento_busca d where d.tipo = ? and d.registro_id > ? "
+            + "and not exists (select 1 from " + origem.tabela + " o where o.id = d.registro_id) order by d.registro_id limit ?";
+        long total = 0;
+        long ultimo = 0;
+        while (true) {
+            List<Long> lote = jdbcTemplate.queryForList(consulta, Long.class, origem.tipo.name(), ultimo, tamanhoLote);
+            if (lote.isEmpty()) {
+                return total;
+            }
+            descartar(origem.tipo, lote);
+            total += lote.size();
+            ultimo = lote.get(lote.size() - 1);
+        }
+    }
+
+    /**
+     * Grava os documentos depois de uma gravação já confirmada. Uma falha não
+     * é repassada: os documentos são descartados, se o banco deixar, para que
+     * a sincronização os indexe de novo a partir dos registros.
+     */
+    private void gravarOuAdiar(List<Documento> documentos) {
+        try {
+            gravar(documentos);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao indexar {} registro(s) na busca; ficam para a sincronização", documentos.size(), e);
+            try {
+                for (TipoRegistro tipo : TipoRegistro.values()) {
+                    List<Long> ids = documentos.stream().filter(documento -> documento.tipo() == tipo).map(Documento::id).toList();
+                    if (!ids.isEmpty()) {
+                        descartar(tipo, ids);
+                    }
+                }
+            } catch (RuntimeException descarte) {
+                log.warn("Documentos desatualizados permanecem no índice de busca até a próxima gravação", descarte);
+            }
+        }
+    }
+
+    private void descartar(TipoRegistro tipo, List<Long> ids) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(REMOVER_TERMOS, ids, ids.size(), (ps, id) -> {
+                ps.setString(1, tipo.name());
+                ps.setLong(2, id);
+            });
+            jdbcTemplate.batchUpdate(REMOVER_DOCUMENTO, ids, ids.size(), (ps, id) -> {
+                ps.setString(1, tipo.name());
+                ps.setLong(2, id);
+            });
+        });
+    }
+
+    /**
+     * Substitui o documento e os termos de cada registro numa transação. Uma
+     * gravação simultânea do mesmo registro (pela sincronização ou por outra
+     * instância) pode derrubar esta por chave duplicada ou deadlock; nesse
+     * caso ela é repetida uma vez.
+     */
+    private void gravar(List<Documento> documentos) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> substituir(documentos));
+                return;
+            } catch (DuplicateKeyException | ConcurrencyFailureException e) {
+                if (tentativa == 2) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void substituir(List<Documento> documentos) {
+        jdbcTemplate.batchUpdate(REMOVER_TERMOS, documentos, documentos.size(), (ps, documento) -> {
+            ps.setString(1, documento.tipo().name());
+            ps.setLong(2, documento.id());
+        });
+        jdbcTemplate.batchUpdate(REMOVER_DOCUMENTO, documentos, documentos.size(), (ps, documento) -> {
+            ps.setString(1, documento.tipo().name());
+            ps.setLong(2, documento.id());
+        });
+        jdbcTemplate.batchUpdate(INSERIR_DOCUMENTO, documentos, documentos.size(), (ps, documento) -> {
+            ps.setString(1, documento.tipo().name());
+            ps.setLong(2, documento.id());
+            ps.setString(3, documento.titulo());
+            ps.setString(4, documento.detalhe());
+            ps.setString(5, limitar(String.join(" ", tokenizar(documento.titulo()))));
+        });
+
+        List<Object[]> termos = new ArrayList<>();
+        for (Documento documento : documentos) {
+            Set<String> principais = new LinkedHashSet<>(tokenizar(documento.titulo()));
+            Set<String> secundarios = new LinkedHashSet<>(documento.tipo() == TipoRegistro.ALUNO
+                ? termosEmail(documento.textoSecundario())
+                : tokenizar(documento.textoSecundario()));
+            secundarios.removeAll(principais);
+            principais.forEach(termo -> termos.add(new Object[] {termo, documento.tipo().name(), documento.id(), true}));
+            secundarios.forEach(termo -> termos.add(new Object[] {termo, documento.tipo().name(), documento.id(), false}));
+        }
+        jdbcTemplate.batchUpdate(INSERIR_TERMO, termos);
+    }
+
+    private static String limitar(String texto) {
+        return texto.length() > TAMANHO_COLUNA ? texto.substring(0, TAMANHO_COLUNA) : texto;
+    }
+}
@@ -0,0 +1,272 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.MatriculaPedido;
+import com.cursos.gerencia_de_cursos.dto.MatriculaResultado;
+import com.cursos.gerencia_de_cursos.dto.RelatorioMatriculaLote;
+import com.cursos.gerencia_de_cursos.dto.StatusMatricula;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matrícula e desmatrícula escrevendo diretamente na tabela {@code turma_aluno},
+ * sem carregar a turma nem a sua lista de alunos. A restrição única
+ * (turma_id, aluno_id) detecta matrículas repetidas e as chaves estrangeiras
+ * detectam turma ou aluno inexistentes.
+ *
+ * <p>As vagas são controladas pelo contador {@code vagas_ocupadas} da turma,
+ * reservado com um UPDATE condicional: a vaga só é ocupada se ainda houver
+ * capacidade, sem leitura prévia do contador. Quando a turma está lotada o
+ * aluno entra na lista de espera, promovida a cada vaga liberada.
+ */
+@Service
+public class MatriculaService {
+
+    private static final String INSERIR_MATRICULA =
+        "insert into turma_aluno (turma_id, aluno_id) values (?, ?)";
+    private static final String REMOVER_MATRICULA =
+        "delete from turma_aluno where turma_id = ? and aluno_id = ?";
+    private static final String OCUPAR_VAGA =
+        "update turma set vagas_ocupadas = vagas_ocupadas + 1, versao = versao + 1 "
+      + "where id = ? and (capacidade is null or vagas_ocupadas < capacidade)";
+    private static final String LIBERAR_VAGA =
+        "update turma set vagas_ocupadas = vagas_ocupadas - 1, versao = versao + 1 where id = ?";
+    private static final String INSERIR_ESPERA =
+        "insert into lista_espera (turma_id, aluno_id, criado_em) values (?, ?, ?)";
+
+    private static final int TAMANHO_LOTE = 500;
+    private static final int TAMANHO_BLOCO_IN = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private AlunoRepository alunoRepository;
+    @Autowired
+    private FeedAlteracoesService feedAlteracoesService;
+
+    @Transactional
+    public MatriculaResultado matricular(Long turmaId, Long alunoId) {
+        if (jdbcTemplate.update(OCUPAR_VAGA, turmaId) == 0) {
+            if (!turmaRepository.existsById(turmaId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada.");
+            }
+            return entrarNaListaDeEspera(turmaId, alunoId);
+        }
+        try {
+            jdbcTemplate.update(INSERIR_MATRICULA, turmaId, alunoId);
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Aluno já matriculado nesta turma.");
+        } catch (DataIntegrityViolationException e) {
+            throw naoEncontrado(turmaId, alunoId);
+        }
+        feedAlteracoesService.publicarMatricula(FeedAlteracoesService.CRIADO, turmaId, alunoId);
+        return new MatriculaResultado(turmaId, alunoId, StatusMatricula.MATRICULADO);
+    }
+
+    @Transactional
+    public MatriculaResultado desmatricular(Long turmaId, Long alunoId) {
+        if (jdbcTemplate.update(REMOVER_MATRICULA, turmaId, alunoId) == 0) {
+            if (jdbcTemplate.update("delete from lista_espera where turma_id = ? and aluno_id = ?", turmaId, alunoId) == 1) {
+                return new MatriculaResultado(turmaId, alunoId, StatusMatricula.DESMATRICULADO);
+            }
+            throw naoEncontrado(turmaId, alunoId);
+        }
+        jdbcTemplate.update(LIBERAR_VAGA, turmaId);
+        feedAlteracoesService.publicarMatricula(FeedAlteracoesService.REMOVIDO, turmaId, alunoId);
+        promoverListaDeEspera(turmaId);
+        return new MatriculaResultado(turmaId, alunoId, StatusMatricula.DESMATRICULADO);
+    }
+
+    /**
+     * Ocupa as vagas livres da turma com os primeiros alunos da lista de espera.
+     * A lista é consultada antes de reservar a vaga, para que a turma sem
+     * ninguém esperando não seja alterada.
+     *
+     * @return {@code true} se a linha da turma foi alterada (vagas e versão)
+     */
+    @Transactional
+    public boolean promoverListaDeEspera(Long turmaId) {
+        boolean alterada = false;
+        while (true) {
+            List<Map<String, Object>> proximo = jdbcTemplate.queryForList(
+                "select id, aluno_id from lista_espera where turma_id = ? order by id limit 1", turmaId);
+            if (proximo.isEmpty() || jdbcTemplate.update(OCUPAR_VAGA, turmaId) == 0) {
+                return alterada;
+            }
+            alterada = true;
+            long esperaId = ((Number) proximo.get(0).get("id")).longValue();
+            long alunoId = ((Number) proximo.get(0).get("aluno_id")).longValue();
+            jdbcTemplate.update("delete from lista_espera where id = ?", esperaId);
+            try {
+                jdbcTemplate.update(INSERIR_MATRICULA, turmaId, alunoId);
+                feedAlteracoesService.publicarMatricula(FeedAlteracoesService.CRIADO, turmaId, alunoId);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(LIBERAR_VAGA, turmaId);
+            }
+        }
+    }
+
+    private MatriculaResultado entrarNaListaDeEspera(Long turmaId, Long alunoId) {
+        Integer matriculado = jdbcTemplate.queryForObject(
+            "select count(*) from turma_aluno where turma_id = ? and aluno_id = ?", Integer.class, turmaId, alunoId);
+        if (matriculado != null && matriculado > 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Aluno já matriculado nesta turma.");
+        }
+        try {
+            jdbcTemplate.update(INSERIR_ESPERA, turmaId, alunoId, LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Aluno já está na lista de espera desta turma.");
+        } catch (DataIntegrityViolationException e) {
+            throw naoEncontrado(turmaId, alunoId);
+        }
+        return new MatriculaResultado(turmaId, alunoId, StatusMatricula.EM_ESPERA);
+    }
+
+    /**
+     * Matricula vários alunos em uma única transação. A existência de turmas,
+     * alunos e matrículas é verificada com consultas por conjunto e as novas
+     * linhas de {@code turma_aluno} são inseridas em lotes JDBC. As matrículas
+     * existentes são lidas depois de bloquear as turmas, com leitura travada,
+     * para que uma matrícula individual simultânea não faça o lote inteiro
+     * falhar por chave duplicada.
+     */
+    @Transactional
+    public RelatorioMatriculaLote matricularEmLote(List<MatriculaPedido> pedidos) {
+        Set<Long> turmasExistentes = idsExistentes("turma", pedidos.stream().map(MatriculaPedido::turmaId).toList());
+        Set<Long> alunosExistentes = idsExistentes("aluno", pedidos.stream().map(MatriculaPedido::alunoId).toList());
+
+        Map<Long, List<Long>> alunosPorTurma = new HashMap<>();
+        for (MatriculaPedido pedido : pedidos) {
+            if (turmasExistentes.contains(pedido.turmaId()) && alunosExistentes.contains(pedido.alunoId())) {
+                alunosPorTurma.computeIfAbsent(pedido.turmaId(), id -> new ArrayList<>()).add(pedido.alunoId());
+            }
+        }
+        // Primeiro as travas: com as turmas bloqueadas nenhuma matrícula individual entra nelas até o commit,
+        // e a leitura seguinte já vê as que entraram antes
+        Map<Long, Integer> vagasLivres = reservarVagasLivres(alunosPorTurma.keySet());
+        Set<MatriculaPedido> jaMatriculados = matriculasExistentes(alunosPorTurma);
+
+        List<MatriculaResultado> itens = new ArrayList<>(pedidos.size());
+        List<MatriculaPedido> novas = new ArrayList<>();
+        Map<Long, Integer> vagasUsadas = new HashMap<>();
+        for (MatriculaPedido pedido : pedidos) {
+            StatusMatricula status;
+            if (!turmasExistentes.contains(pedido.turmaId())) {
+                status = StatusMatricula.TURMA_NAO_ENCONTRADA;
+            } else if (!alunosExistentes.contains(pedido.alunoId())) {
+                status = StatusMatricula.ALUNO_NAO_ENCONTRADO;
+            } else if (jaMatriculados.contains(pedido)) {
+                status = StatusMatricula.JA_MATRICULADO;
+            } else if (vagasUsadas.getOrDefault(pedido.turmaId(), 0) >= vagasLivres.get(pedido.turmaId())) {
+                status = StatusMatricula.TURMA_LOTADA;
+            } else {
+                status = StatusMatricula.MATRICULADO;
+                jaMatriculados.add(pedido);
+                vagasUsadas.merge(pedido.turmaId(), 1, Integer::sum);
+                novas.add(pedido);
+            }
+            itens.add(new MatriculaResultado(pedido.turmaId(), pedido.alunoId(), status));
+        }
+
+        jdbcTemplate.batchUpdate(INSERIR_MATRICULA, novas, TAMANHO_LOTE, (ps, pedido) -> {
+            ps.setLong(1, pedido.turmaId());
+            ps.setLong(2, pedido.alunoId());
+        });
+        novas.forEach(pedido -> feedAlteracoesService.publicarMatricula(FeedAlteracoesService.CRIADO, pedido.turmaId(), pedido.alunoId()));
+        vagasUsadas.forEach((turmaId, quantidade) ->
+            jdbcTemplate.update("update turma set vagas_ocupadas = vagas_ocupadas + ?, versao = versao + 1 where id = ?", quantidade, turmaId));
+
+        return RelatorioMatriculaLote.de(itens);
+    }
+
+    @Transactional
+    public RelatorioMatriculaLote matricularEmLote(Long turmaId, List<Long> alunoIds) {
+        return matricularEmLote(alunoIds.stream().map(alunoId -> new MatriculaPedido(turmaId, alunoId)).toList());
+    }
+
+    /**
+     * Bloqueia as turmas do lote até o fim da transação e devolve quantas vagas
+     * cada uma ainda tem, para que o lote não ultrapasse a capacidade mesmo com
+     * matrículas individuais acontecendo ao mesmo tempo.
+     */
+    private Map<Long, Integer> reservarVagasLivres(Collection<Long> turmaIds) {
+        Map<Long, Integer> vagasLivres = new HashMap<>();
+        for (Long turmaId : turmaIds.stream().sorted().toList()) {
+            Map<String, Object> turma = jdbcTemplate.queryForMap(
+                "select capacidade, vagas_ocupadas from turma where id = ? for update", turmaId);
+            Number capacidade = (Number) turma.get("capacidade");
+            int ocupadas = ((Number) turma.get("vagas_ocupadas")).intValue();
+            vagasLivres.put(turmaId, capacidade == null ? Integer.MAX_VALUE : Math.max(0, capacidade.intValue() - ocupadas));
+        }
+        return vagasLivres;
+    }
+
+    private Set<Long> idsExistentes(String tabela, Collection<Long> ids) {
+        Set<Long> existentes = new HashSet<>();
+        for (List<Long> bloco : emBlocos(new ArrayList<>(new HashSet<>(ids)))) {
+            existentes.addAll(namedJdbcTemplate.queryForList(
+                "select id from " + tabela + " where id in (:ids)",
+                new MapSqlParameterSource("ids", bloco),
+                Long.class));
+        }
+        return existentes;
+    }
+
+    private Set<MatriculaPedido> matriculasExistentes(Map<Long, List<Long>> alunosPorTurma) {
+        Set<MatriculaPedido> existentes = new HashSet<>();
+        alunosPorTurma.forEach((turmaId, alunoIds) -> {
+            for (List<Long> bloco : emBlocos(new ArrayList<>(new HashSet<>(alunoIds)))) {
+                MapSqlParameterSource parametros = new MapSqlParameterSource()
+                    .addValue("turmaId", turmaId)
+                    .addValue("alunoIds", bloco);
+                namedJdbcTemplate.queryForList(
+                    "select aluno_id from turma_aluno where turma_id = :turmaId and aluno_id in (:alunoIds) for update",
+                    parametros,
+                    Long.class
+                ).forEach(alunoId -> existentes.add(new MatriculaPedido(turmaId, alunoId)));
+            }
+        });
+        return existentes;
+    }
+
+    private static <T> List<List<T>> emBlocos(List<T> valores) {
+        List<List<T>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < valores.size(); inicio += TAMANHO_BLOCO_IN) {
+            blocos.add(valores.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IN, valores.size())));
+        }
+        return blocos;
+    }
+
+    private ResponseStatusException naoEncontrado(Long turmaId, Long alunoId) {
+        if (!turmaRepository.existsById(turmaId)) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Turma não encontrada.");
+        }
+        if (!alunoRepository.existsById(alunoId)) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não encontrado.");
+        }
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluno não está matriculado nesta turma.");
+    }
+}
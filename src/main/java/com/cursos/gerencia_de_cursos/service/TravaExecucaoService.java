@@ -0,0 +1,54 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Travas de execução compartilhadas pelas instâncias, gravadas em
+ * {@code trava_execucao}, para tarefas agendadas que devem rodar em um nó
+ * por vez. Fica com a trava quem conseguir o UPDATE condicional; ela vence
+ * sozinha ao fim da duração pedida, de modo que a queda de uma instância não
+ * a deixa presa. Os horários são os do banco, comuns a todas as instâncias.
+ */
+@Service
+public class TravaExecucaoService {
+
+    private static final String CRIAR =
+        "insert into trava_execucao (nome, bloqueada_ate) select ?, current_timestamp(6) from dual "
+      + "where not exists (select 1 from trava_execucao where nome = ?)";
+    private static final String ADQUIRIR =
+        "update trava_execucao set bloqueada_ate = timestampadd(second, ?, current_timestamp(6)), dono = ? "
+      + "where nome = ? and bloqueada_ate <= current_timestamp(6)";
+    private static final String LIBERAR =
+        "update trava_execucao set bloqueada_ate = current_timestamp(6) where nome = ? and dono = ?";
+
+    private final String dono = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return {@code true} se a trava estava livre e agora pertence a esta
+     *         instância por {@code duracao}
+     */
+    public boolean adquirir(String nome, Duration duracao) {
+        try {
+            jdbcTemplate.update(CRIAR, nome, nome);
+        } catch (DuplicateKeyException e) {
+            // criada por outra instância ao mesmo tempo
+        }
+        return jdbcTemplate.update(ADQUIRIR, duracao.toSeconds(), dono, nome) == 1;
+    }
+
+    /**
+     * Libera antes do prazo uma trava desta instância.
+     */
+    public void liberar(String nome) {
+        jdbcTemplate.update(LIBERAR, nome, dono);
+    }
+}
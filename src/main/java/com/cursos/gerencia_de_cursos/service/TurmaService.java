@@ -0,0 +1,73 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação e exclusão de turmas junto com os contadores de
+ * {@link EstatisticaService} e a verificação da agenda do professor
+ * ({@link AgendaProfessorService}), na mesma transação.
+ */
+@Service
+public class TurmaService {
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private EstatisticaService estatisticaService;
+    @Autowired
+    private AgendaProfessorService agendaProfessorService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public Turma salvar(Turma turma) {
+        Map<String, Object> anterior = turma.getId() == null ? null : bloquear(turma.getId());
+        agendaProfessorService.verificarDisponibilidade(turma);
+        Turma salva = turmaRepository.saveAndFlush(turma);
+
+        Long cursoId = salva.getCurso().getId();
+        Long professorId = salva.getProfessor().getId();
+        if (anterior == null) {
+            estatisticaService.registrarTurma(cursoId, professorId, 1);
+            return salva;
+        }
+        Long cursoAnterior = ((Number) anterior.get("curso_id")).longValue();
+        Long professorAnterior = ((Number) anterior.get("professor_id")).longValue();
+        if (!cursoAnterior.equals(cursoId) || !professorAnterior.equals(professorId)) {
+            estatisticaService.registrarTurma(cursoAnterior, professorAnterior, -1);
+            estatisticaService.registrarTurma(cursoId, professorId, 1);
+        }
+        return salva;
+    }
+
+    /**
+     * @return {@code false} se a turma não existir
+     */
+    @Transactional
+    public boolean excluir(Long turmaId) {
+        Map<String, Object> anterior = bloquear(turmaId);
+        if (anterior == null) {
+            return false;
+        }
+        turmaRepository.deleteById(turmaId);
+        turmaRepository.flush();
+        estatisticaService.registrarTurma(((Number) anterior.get("curso_id")).longValue(),
+            ((Number) anterior.get("professor_id")).longValue(), -1);
+        return true;
+    }
+
+    private Map<String, Object> bloquear(Long turmaId) {
+        List<Map<String, Object>> linhas = jdbcTemplate.queryForList(
+            "select curso_id, professor_id from turma where id = ? for update", turmaId);
+        return linhas.isEmpty() ? null : linhas.get(0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.model.VersaoColecao;
+import com.cursos.gerencia_de_cursos.repository.VersaoColecaoRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mantém os carimbos de alteração das coleções. Quem inclui, altera ou remove
+ * um registro de uma coleção versionada deve chamar {@link #registrarAlteracao}.
+ */
+@Service
+public class VersaoColecaoService {
+
+    public static final String CURSOS = "cursos";
+    public static final String PROFESSORES = "professores";
+
+    @Autowired
+    private VersaoColecaoRepository versaoColecaoRepository;
+
+    public long versaoAtual(String colecao) {
+        return versaoColecaoRepository.buscarVersao(colecao).orElse(0L);
+    }
+
+    public void registrarAlteracao(String colecao) {
+        if (versaoColecaoRepository.incrementar(colecao) > 0) {
+            return;
+        }
+        try {
+            versaoColecaoRepository.saveAndFlush(new VersaoColecao(colecao, 1L));
+        } catch (DataIntegrityViolationException e) {
+            // outra requisição criou a linha ao mesmo tempo
+            versaoColecaoRepository.incrementar(colecao);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- O e-mail do aluno passou a ser indexado inteiro, sem as palavras do domínio.
+-- Os documentos de alunos saem do índice e a sincronização os refaz ao subir a aplicação.
+delete from termo_busca where tipo = 'ALUNO';
+delete from documento_busca where tipo = 'ALUNO';
@@ -0,0 +1,51 @@
+-- Esquema da primeira versão da aplicação, exatamente como o ddl-auto=update
+-- do Hibernate o criava, inclusive os nomes gerados das restrições. Bancos
+-- criados por essa versão já estão neste ponto: são marcados na versão 1
+-- (spring.flyway.baseline-on-migrate) e recebem só as migrações seguintes.
+
+create table aluno (
+    id bigint not null auto_increment,
+    cpf varchar(14) not null,
+    email varchar(255) not null,
+    nome varchar(255) not null,
+    primary key (id),
+    constraint UKcrrvmtky7d9tfarahi4jahewg unique (cpf)
+) engine=InnoDB;
+
+create table curso (
+    id bigint not null auto_increment,
+    carga_horaria integer not null check (carga_horaria >= 1),
+    descricao varchar(255) not null,
+    nome varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table professor (
+    id bigint not null auto_increment,
+    area_especializacao varchar(255) not null,
+    curriculo varchar(500) not null,
+    nome varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table turma (
+    id bigint not null auto_increment,
+    codigo_turma varchar(255) not null,
+    data_fim date not null,
+    data_inicio date not null,
+    curso_id bigint not null,
+    professor_id bigint not null,
+    primary key (id),
+    constraint UKd97f0dhhaokpnu65ah1rmuad1 unique (codigo_turma)
+) engine=InnoDB;
+
+create table turma_aluno (
+    turma_id bigint not null,
+    aluno_id bigint not null,
+    primary key (turma_id, aluno_id)
+) engine=InnoDB;
+
+alter table turma add constraint FKemy6du4jr6a56m5e5sp7nufe7 foreign key (curso_id) references curso (id);
+alter table turma add constraint FK9xwtpw9i63l1u1uevrsdc6g69 foreign key (professor_id) references professor (id);
+alter table turma_aluno add constraint FKo4hb9mkklqma8p1p6dbpg790p foreign key (aluno_id) references aluno (id);
+alter table turma_aluno add constraint FK8jlmncan0ekxtbsjfdgwcigtn foreign key (turma_id) references turma (id);
@@ -0,0 +1,83 @@
+-- Colunas e tabelas acrescentadas depois da primeira versão: versões para o
+-- controle de concorrência otimista, capacidade e vagas das turmas, lista de
+-- espera, versões das coleções, contadores e chaves de idempotência.
+
+alter table aluno add column versao bigint default 0 not null;
+alter table curso add column versao bigint default 0 not null;
+alter table professor add column versao bigint default 0 not null;
+alter table turma add column versao bigint default 0 not null;
+
+alter table turma add column capacidade integer;
+alter table turma add column vagas_ocupadas integer default 0 not null;
+alter table turma add constraint ck_turma_capacidade check (capacidade >= 1);
+
+-- Listagens por curso/professor paginadas por id e filtro por período
+create index idx_turma_curso on turma (curso_id, id);
+create index idx_turma_professor on turma (professor_id, id);
+create index idx_turma_periodo on turma (data_inicio, data_fim);
+
+-- A chave primária atende às consultas por turma; o índice invertido, às por aluno
+create index idx_turma_aluno_aluno on turma_aluno (aluno_id, turma_id);
+
+create table lista_espera (
+    id bigint not null auto_increment,
+    turma_id bigint not null,
+    aluno_id bigint not null,
+    criado_em datetime(6) not null,
+    primary key (id),
+    constraint uk_lista_espera_turma_aluno unique (turma_id, aluno_id),
+    constraint fk_lista_espera_turma foreign key (turma_id) references turma (id) on delete cascade,
+    constraint fk_lista_espera_aluno foreign key (aluno_id) references aluno (id) on delete cascade
+) engine=InnoDB;
+
+create index idx_lista_espera_turma on lista_espera (turma_id, id);
+
+create table versao_colecao (
+    nome varchar(50) not null,
+    versao bigint not null,
+    primary key (nome)
+) engine=InnoDB;
+
+create table estatistica_curso (
+    curso_id bigint not null,
+    turmas bigint not null,
+    matriculados bigint not null,
+    primary key (curso_id)
+) engine=InnoDB;
+
+create table estatistica_professor (
+    professor_id bigint not null,
+    turmas bigint not null,
+    matriculados bigint not null,
+    horas_aula bigint not null,
+    primary key (professor_id)
+) engine=InnoDB;
+
+create table requisicao_idempotente (
+    chave varchar(100) not null,
+    metodo varchar(10) not null,
+    caminho varchar(255) not null,
+    status integer,
+    tipo_conteudo varchar(255),
+    corpo mediumblob,
+    criada_em datetime(6) not null,
+    primary key (chave)
+) engine=InnoDB;
+
+create index idx_requisicao_idempotente_criacao on requisicao_idempotente (criada_em);
+
+-- Dados que já existiam: vagas ocupadas e contadores partem das matrículas gravadas
+update turma t set vagas_ocupadas = (select count(*) from turma_aluno ta where ta.turma_id = t.id);
+
+insert into estatistica_curso (curso_id, turmas, matriculados)
+select c.id,
+       (select count(*) from turma t where t.curso_id = c.id),
+       (select coalesce(sum(t.vagas_ocupadas), 0) from turma t where t.curso_id = c.id)
+from curso c;
+
+insert into estatistica_professor (professor_id, turmas, matriculados, horas_aula)
+select p.id,
+       (select count(*) from turma t where t.professor_id = p.id),
+       (select coalesce(sum(t.vagas_ocupadas), 0) from turma t where t.professor_id = p.id),
+       (select coalesce(sum(c.carga_horaria), 0) from turma t join curso c on c.id = t.curso_id where t.professor_id = p.id)
+from professor p;
@@ -0,0 +1,19 @@
+-- Troca os nomes gerados pelo Hibernate por nomes fixos. As gravações contam
+-- com essas restrições no lugar de consultas prévias, e o tratamento de erros
+-- identifica a violação pelo nome (TratamentoErrosAdvice).
+
+alter table aluno drop index UKcrrvmtky7d9tfarahi4jahewg;
+alter table aluno add constraint uk_aluno_cpf unique (cpf);
+
+alter table turma drop index UKd97f0dhhaokpnu65ah1rmuad1;
+alter table turma add constraint uk_turma_codigo unique (codigo_turma);
+
+alter table turma drop foreign key FKemy6du4jr6a56m5e5sp7nufe7;
+alter table turma add constraint fk_turma_curso foreign key (curso_id) references curso (id);
+alter table turma drop foreign key FK9xwtpw9i63l1u1uevrsdc6g69;
+alter table turma add constraint fk_turma_professor foreign key (professor_id) references professor (id);
+
+alter table turma_aluno drop foreign key FK8jlmncan0ekxtbsjfdgwcigtn;
+alter table turma_aluno add constraint fk_turma_aluno_turma foreign key (turma_id) references turma (id);
+alter table turma_aluno drop foreign key FKo4hb9mkklqma8p1p6dbpg790p;
+alter table turma_aluno add constraint fk_turma_aluno_aluno foreign key (aluno_id) references aluno (id);
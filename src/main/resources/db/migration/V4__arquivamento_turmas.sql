@@ -0,0 +1,37 @@
+-- Turmas encerradas e as suas matrículas, movidas das tabelas principais pelo
+-- ArquivamentoService. O id é o mesmo que a turma tinha em turma.
+
+create table turma_historico (
+    id bigint not null,
+    versao bigint not null,
+    codigo_turma varchar(255) not null,
+    data_inicio date not null,
+    data_fim date not null,
+    capacidade integer,
+    vagas_ocupadas integer not null,
+    curso_id bigint not null,
+    professor_id bigint not null,
+    arquivada_em datetime(6) not null,
+    primary key (id),
+    constraint fk_turma_historico_curso foreign key (curso_id) references curso (id),
+    constraint fk_turma_historico_professor foreign key (professor_id) references professor (id)
+) engine=InnoDB;
+
+-- Sem unicidade no código: ele volta a ficar livre em turma depois do arquivamento
+create index idx_turma_historico_codigo on turma_historico (codigo_turma);
+create index idx_turma_historico_curso on turma_historico (curso_id, id);
+create index idx_turma_historico_professor on turma_historico (professor_id, id);
+create index idx_turma_historico_periodo on turma_historico (data_inicio, data_fim);
+
+create table turma_aluno_historico (
+    turma_id bigint not null,
+    aluno_id bigint not null,
+    constraint pk_turma_aluno_historico primary key (turma_id, aluno_id),
+    constraint fk_turma_aluno_historico_turma foreign key (turma_id) references turma_historico (id),
+    constraint fk_turma_aluno_historico_aluno foreign key (aluno_id) references aluno (id)
+) engine=InnoDB;
+
+create index idx_turma_aluno_historico_aluno on turma_aluno_historico (aluno_id, turma_id);
+
+-- Seleção das turmas a arquivar (e das encerradas, no fechamento de período)
+create index idx_turma_fim on turma (data_fim, id);
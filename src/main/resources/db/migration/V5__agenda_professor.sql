@@ -0,0 +1,3 @@
+-- Verificação de sobreposição de períodos das turmas de um professor, feita
+-- no banco sob o bloqueio da linha do professor (AgendaProfessorService)
+create index idx_turma_professor_periodo on turma (professor_id, data_inicio, data_fim);
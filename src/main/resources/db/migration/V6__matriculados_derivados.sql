@@ -0,0 +1,4 @@
+-- Matriculados de curso e professor passam a ser a soma de turma.vagas_ocupadas,
+-- calculada na leitura; a matrícula deixa de atualizar estas linhas.
+alter table estatistica_curso drop column matriculados;
+alter table estatistica_professor drop column matriculados;
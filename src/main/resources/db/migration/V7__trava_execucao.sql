@@ -0,0 +1,7 @@
+-- Travas das tarefas agendadas que rodam em uma instância por vez (TravaExecucaoService)
+create table trava_execucao (
+    nome varchar(100) not null,
+    bloqueada_ate datetime(6) not null,
+    dono varchar(255),
+    primary key (nome)
+) engine=InnoDB;
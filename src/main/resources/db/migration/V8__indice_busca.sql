@@ -0,0 +1,23 @@
+-- Índice da busca textual (IndiceBuscaService): um documento por registro e
+-- uma linha por termo normalizado. A chave de termo_busca começa pelo termo,
+-- de modo que a busca por prefixo é uma faixa do índice. As tabelas nascem
+-- vazias e são preenchidas pela sincronização ao subir a aplicação.
+
+create table documento_busca (
+    tipo varchar(10) not null,
+    registro_id bigint not null,
+    titulo varchar(255) not null,
+    detalhe varchar(255),
+    titulo_normalizado varchar(255) not null,
+    primary key (tipo, registro_id)
+) engine=InnoDB;
+
+create table termo_busca (
+    termo varchar(255) not null,
+    tipo varchar(10) not null,
+    registro_id bigint not null,
+    principal boolean not null,
+    primary key (termo, tipo, registro_id)
+) engine=InnoDB;
+
+create index idx_termo_busca_registro on termo_busca (tipo, registro_id);
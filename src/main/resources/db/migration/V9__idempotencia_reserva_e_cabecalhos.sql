@@ -0,0 +1,5 @@
+-- Chaves de idempotência: dono da reserva, hash do corpo da requisição e cabeçalhos repetidos na resposta
+alter table requisicao_idempotente add column reserva varchar(36);
+alter table requisicao_idempotente add column hash_corpo varchar(64);
+alter table requisicao_idempotente add column localizacao varchar(2048);
+alter table requisicao_idempotente add column etag varchar(255);
@@ -0,0 +1,38 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Com a inicialização preguiçosa, um {@code @Scheduled} só é registrado quando
+ * o bean é criado; os jobs periódicos precisam estar entre os beans criados na
+ * partida. O dialeto do perfil é o do MySQL; aqui o banco é o H2.
+ */
+@SpringBootTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@ActiveProfiles("inicio-rapido")
+class InicioRapidoConfigTest {
+
+    @Autowired
+    private List<ScheduledTaskHolder> agendadores;
+
+    @Test
+    void jobsPeriodicosSaoAgendadosNaPartida() {
+        List<String> tarefas = agendadores.stream()
+            .flatMap(agendador -> agendador.getScheduledTasks().stream())
+            .map(ScheduledTask::toString)
+            .toList();
+
+        assertThat(tarefas).anyMatch(tarefa -> tarefa.contains("ArquivamentoService.agendar"))
+            .anyMatch(tarefa -> tarefa.contains("EstatisticaService.agendarReconciliacao"))
+            .anyMatch(tarefa -> tarefa.contains("IndiceBuscaService"))
+            .anyMatch(tarefa -> tarefa.contains("IdempotenciaService"));
+    }
+}
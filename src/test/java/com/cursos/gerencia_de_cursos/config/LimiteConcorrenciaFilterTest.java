@@ -0,0 +1,49 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteConcorrenciaFilterTest {
+
+    @Test
+    void rejeitaRequisicoesAlemDoLimiteAposAEspera() throws Exception {
+        LimiteConcorrenciaFilter filtro = new LimiteConcorrenciaFilter(
+            new BulkheadProperties(true, 1, Duration.ofMillis(50)));
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<Integer> primeira = CompletableFuture.supplyAsync(() -> {
+            MockHttpServletResponse resposta = new MockHttpServletResponse();
+            try {
+                filtro.doFilter(new MockHttpServletRequest("GET", "/api/turmas"), resposta, (req, res) -> {
+                    emAndamento.countDown();
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return resposta.getStatus();
+        });
+        emAndamento.await();
+
+        MockHttpServletResponse segunda = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/turmas"), segunda, (req, res) -> { });
+        assertThat(segunda.getStatus()).isEqualTo(503);
+        assertThat(segunda.getHeader("Retry-After")).isEqualTo("1");
+
+        liberar.countDown();
+        assertThat(primeira.get()).isEqualTo(200);
+        assertThat(filtro.permissoesDisponiveis()).isEqualTo(1);
+    }
+}
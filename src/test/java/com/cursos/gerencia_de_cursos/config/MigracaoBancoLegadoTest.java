@@ -0,0 +1,76 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Banco criado pela primeira versão da aplicação (ddl-auto=update, sem
+ * Flyway), com os nomes de restrição gerados pelo Hibernate e alguns dados.
+ * Ao subir, a aplicação marca o banco na versão 1 e aplica as demais
+ * migrações; o Hibernate valida o esquema resultante.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + MigracaoBancoLegadoTest.URL)
+@AutoConfigureMockMvc
+class MigracaoBancoLegadoTest {
+
+    static final String URL = "jdbc:h2:mem:db_legado;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    static {
+        new ResourceDatabasePopulator(
+            new ClassPathResource("db/migration/V1__esquema_inicial.sql"),
+            new ClassPathResource("db/legado/dados.sql"))
+            .execute(new DriverManagerDataSource(URL, "sa", ""));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void atualizaOEsquemaEPreservaOsDados() throws Exception {
+        assertThat(jdbcTemplate.queryForList(
+            "select \"version\" from \"flyway_schema_history\" where \"version\" is not null order by \"installed_rank\"", String.class))
+            .startsWith("1", "2", "3", "4");
+
+        mockMvc.perform(get("/api/turmas/1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.codigoTurma").value("BD-LEGADO-1"))
+            .andExpect(jsonPath("$.vagasOcupadas").value(2));
+        mockMvc.perform(get("/api/estatisticas/cursos/1"))
+            .andExpect(jsonPath("$.turmas").value(2))
+            .andExpect(jsonPath("$.matriculados").value(3));
+        mockMvc.perform(get("/api/estatisticas/professores/1"))
+            .andExpect(jsonPath("$.matriculados").value(3))
+            .andExpect(jsonPath("$.horasAula").value(80));
+    }
+
+    @Test
+    void restricoesRenomeadasSaoTraduzidasNasRespostas() throws Exception {
+        mockMvc.perform(post("/api/turmas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"codigoTurma\": \"BD-LEGADO-3\", \"dataInicio\": \"2031-01-01\", \"dataFim\": \"2031-06-30\", "
+                    + "\"capacidade\": 10, \"curso\": {\"id\": 99}, \"professor\": {\"id\": 1}}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Curso não encontrado para associação."));
+
+        mockMvc.perform(post("/api/alunos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Outro Caio\", \"cpf\": \"11111111111\", \"email\": \"outro@exemplo.com\"}"))
+            .andExpect(status().isConflict());
+    }
+}
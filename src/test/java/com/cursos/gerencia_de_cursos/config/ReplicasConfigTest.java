@@ -0,0 +1,87 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Dois bancos H2 em memória fazem o papel de primário e réplica. A réplica
+ * recebe só o esquema do primário e dados próprios, de modo que cada resposta
+ * mostra de qual banco a leitura veio.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:db_primario_replicas;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "gerencia.datasource.replicas[0].url=" + ReplicasConfigTest.URL_REPLICA,
+    "gerencia.datasource.replicas[0].username=sa",
+    "gerencia.datasource.replicas[0].password="
+})
+@AutoConfigureMockMvc
+class ReplicasConfigTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:db_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", ""));
+
+    @BeforeEach
+    void prepararReplica() {
+        replica.execute("drop all objects");
+        List<String> esquema = jdbcTemplate.queryForList("script nodata", String.class);
+        esquema.stream()
+            .filter(comando -> !comando.startsWith("CREATE USER"))
+            .forEach(replica::execute);
+
+        replica.update("insert into curso (id, nome, descricao, carga_horaria) values (1, 'Curso da réplica', 'Descrição', 40)");
+        replica.update("insert into professor (id, nome, area_especializacao, curriculo) values (1, 'Professor da réplica', 'Dados', 'Currículo')");
+        replica.update("""
+            insert into turma (id, codigo_turma, data_inicio, data_fim, capacidade, curso_id, professor_id)
+            values (7, 'REPLICA-1', date '2030-01-01', date '2030-06-30', 30, 1, 1)""");
+    }
+
+    @Test
+    void leiturasSomenteLeituraVaoParaAReplica() throws Exception {
+        mockMvc.perform(get("/api/turmas/7"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.codigoTurma").value("REPLICA-1"));
+
+        mockMvc.perform(get("/api/turmas"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(1));
+    }
+
+    @Test
+    void gravacaoVaiParaOPrimarioELeituraSeguinteDoClienteTambem() throws Exception {
+        MvcResult criacao = mockMvc.perform(post("/api/cursos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Curso do primário\",\"descricao\":\"Descrição\",\"cargaHoraria\":20}"))
+            .andExpect(status().isCreated())
+            .andExpect(cookie().exists(LeituraPropriaFilter.COOKIE))
+            .andReturn();
+        Cookie leituraPropria = criacao.getResponse().getCookie(LeituraPropriaFilter.COOKIE);
+
+        mockMvc.perform(get("/api/turmas/7").cookie(leituraPropria))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/turmas/7"))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,64 @@
+package com.cursos.gerencia_de_cursos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoteadorReplicasTest {
+
+    private final DataSource primario = mock(DataSource.class);
+    private final DataSource banco = mock(DataSource.class);
+    private final Connection conexaoPrimario = mock(Connection.class);
+    private final Connection conexaoReplica = mock(Connection.class);
+    private final RoteadorReplicas.Replica replica = new RoteadorReplicas.Replica("replica-0", banco);
+    private final RoteadorReplicas roteador = new RoteadorReplicas(primario, List.of(replica));
+
+    @Test
+    void replicaQueFalhaSaiDoRodizioEVoltaNaVerificacao() throws Exception {
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        when(banco.getConnection()).thenThrow(new SQLException("fora do ar"));
+
+        assertThat(conexaoDeLeitura()).isSameAs(conexaoPrimario);
+        assertThat(replica.disponivel()).isFalse();
+
+        doReturn(conexaoReplica).when(banco).getConnection();
+        when(conexaoReplica.isValid(anyInt())).thenReturn(true);
+        roteador.verificar();
+
+        assertThat(replica.disponivel()).isTrue();
+        assertThat(conexaoDeLeitura()).isSameAs(conexaoReplica);
+    }
+
+    @Test
+    void leituraForcadaNoPrimarioIgnoraAReplica() throws Exception {
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        when(banco.getConnection()).thenReturn(conexaoReplica);
+        AtomicReference<Connection> obtida = new AtomicReference<>();
+
+        RoteadorReplicas.noPrimario(() -> obtida.set(conexaoDeLeitura()));
+
+        assertThat(obtida.get()).isSameAs(conexaoPrimario);
+        assertThat(conexaoDeLeitura()).isSameAs(conexaoReplica);
+    }
+
+    /**
+     * O proxy só abre a conexão física no primeiro uso, depois de a transação
+     * marcar a conexão como somente leitura.
+     */
+    private Connection conexaoDeLeitura() throws SQLException {
+        Connection conexao = roteador.dataSource().getConnection();
+        conexao.setReadOnly(true);
+        return ((ConnectionProxy) conexao).getTargetConnection();
+    }
+}
@@ -0,0 +1,108 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlteracaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void feedEntregaAlteracoesConfirmadasERetomaPelaSequencia() throws Exception {
+        MvcResult assinatura = assinar(get("/api/alteracoes"));
+
+        long primeiro = criarCurso("Redes Neurais");
+        String recebido = aguardar(assinatura, "\"id\":" + primeiro);
+        assertThat(recebido).contains("event:curso", "\"operacao\":\"criado\"");
+
+        String ultimoId = idDoEvento(recebido, primeiro);
+
+        long segundo = criarCurso("Visão Computacional");
+        MvcResult retomada = assinar(get("/api/alteracoes").header("Last-Event-ID", ultimoId));
+        String reenviado = aguardar(retomada, "\"id\":" + segundo);
+        assertThat(reenviado).doesNotContain("\"id\":" + primeiro + ",", "event:lacuna");
+    }
+
+    @Test
+    void retomadaDeOutroFluxoOuAdiantadaRecebeLacuna() throws Exception {
+        MvcResult assinatura = assinar(get("/api/alteracoes"));
+        long curso = criarCurso("Sistemas Distribuídos");
+        String ultimoId = idDoEvento(aguardar(assinatura, "\"id\":" + curso), curso);
+        String epoca = ultimoId.substring(0, ultimoId.lastIndexOf('-'));
+        long sequencia = Long.parseLong(ultimoId.substring(ultimoId.lastIndexOf('-') + 1));
+
+        // Sequência que este fluxo ainda não emitiu: o cliente veio de outra instância ou de antes de um reinício
+        MvcResult adiantada = assinar(get("/api/alteracoes").param("desde", epoca + "-" + (sequencia + 1000)));
+        assertThat(aguardar(adiantada, "event:lacuna")).matches("(?s)id:" + epoca + "-\\d+\\s+event:lacuna.*");
+
+        MvcResult outraEpoca = assinar(get("/api/alteracoes").header("Last-Event-ID", "outra-" + sequencia));
+        aguardar(outraEpoca, "event:lacuna");
+
+        MvcResult semEpoca = assinar(get("/api/alteracoes").header("Last-Event-ID", Long.toString(sequencia)));
+        aguardar(semEpoca, "event:lacuna");
+    }
+
+    @Test
+    void matriculaRecusadaNaoPublicaEvento() throws Exception {
+        MvcResult assinatura = assinar(get("/api/alteracoes"));
+
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", -1L, -1L))
+            .andExpect(status().isNotFound());
+        long marcador = criarCurso("Marcador");
+
+        String recebido = aguardar(assinatura, "\"id\":" + marcador);
+        assertThat(recebido).doesNotContain("event:matricula");
+    }
+
+    private String idDoEvento(String recebido, long cursoId) {
+        Matcher evento = Pattern.compile("id:(\\S+)\\s+event:curso\\s+data:\\{[^\\n]*\"id\":" + cursoId + "[,}]").matcher(recebido);
+        assertThat(evento.find()).isTrue();
+        return evento.group(1);
+    }
+
+    private MvcResult assinar(RequestBuilder requisicao) throws Exception {
+        return mockMvc.perform(requisicao)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private long criarCurso(String nome) throws Exception {
+        String resposta = mockMvc.perform(post("/api/cursos").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"" + nome + "\", \"descricao\": \"Feed\", \"cargaHoraria\": 20}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+
+    private String aguardar(MvcResult assinatura, String trecho) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        String conteudo = assinatura.getResponse().getContentAsString();
+        while (!conteudo.contains(trecho) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            conteudo = assinatura.getResponse().getContentAsString();
+        }
+        assertThat(conteudo).contains(trecho);
+        return conteudo;
+    }
+}
@@ -0,0 +1,204 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlunoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AlunoRepository alunoRepository;
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void limparBase() {
+        turmaRepository.deleteAll();
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    void criarAlunoComCpfRepetidoResponde409() throws Exception {
+        alunoRepository.save(new Aluno(null, null, "Já Cadastrado", "00000000001", "ja@exemplo.com"));
+
+        mockMvc.perform(post("/api/alunos").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Outro\", \"cpf\": \"00000000001\", \"email\": \"outro@exemplo.com\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value("CPF já cadastrado no sistema."));
+    }
+
+    @Test
+    void listarTodosUsaOLimitePadraoEEncerraNaUltimaPagina() throws Exception {
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            alunos.add(new Aluno(null, null, "Aluno " + i, String.format("5%010d", i), "pagina" + i + "@exemplo.com"));
+        }
+        alunos = alunoRepository.saveAll(alunos);
+        long quinquagesimo = alunos.get(49).getId();
+        long ultimo = alunos.get(50).getId();
+
+        mockMvc.perform(get("/api/alunos"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(50))
+            .andExpect(jsonPath("$.proximoCursor").value(quinquagesimo));
+        mockMvc.perform(get("/api/alunos").param("after", String.valueOf(quinquagesimo)))
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[0].id").value(ultimo))
+            .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        // Página que termina exatamente no último registro não aponta para uma página vazia
+        mockMvc.perform(get("/api/alunos").param("limit", "51"))
+            .andExpect(jsonPath("$.itens.length()").value(51))
+            .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+        mockMvc.perform(get("/api/alunos").param("after", String.valueOf(ultimo)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(0))
+            .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void listarTodosRecusaLimitForaDoIntervalo() throws Exception {
+        for (String limit : List.of("0", "-1", "501")) {
+            mockMvc.perform(get("/api/alunos").param("limit", limit))
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason("O parâmetro limit deve estar entre 1 e 500."));
+        }
+        mockMvc.perform(get("/api/alunos").param("limit", "1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/alunos").param("limit", "500")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/alunos").param("limit", "muitos")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void repeticaoComAMesmaChaveDeIdempotenciaDevolveARespostaOriginal() throws Exception {
+        String aluno = "{\"nome\": \"Gabi\", \"cpf\": \"66666666666\", \"email\": \"gabi@exemplo.com\"}";
+
+        String primeira = mockMvc.perform(post("/api/alunos").header("Idempotency-Key", "chave-1")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist("Idempotency-Replayed"))
+            .andReturn().getResponse().getContentAsString();
+
+        String repeticao = mockMvc.perform(post("/api/alunos").header("Idempotency-Key", "chave-1")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Idempotency-Replayed", "true"))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(repeticao).isEqualTo(primeira);
+        assertThat(alunoRepository.count()).isEqualTo(1);
+
+        mockMvc.perform(put("/api/alunos/{id}", 1).header("Idempotency-Key", "chave-1")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno))
+            .andExpect(status().isUnprocessableContent());
+        mockMvc.perform(post("/api/alunos").header("Idempotency-Key", "chave-1")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno.replace("Gabi", "Gabriela")))
+            .andExpect(status().isUnprocessableContent());
+        assertThat(alunoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void repeticaoDevolveOsCabecalhosDaRespostaOriginal() throws Exception {
+        Aluno aluno = alunoRepository.save(new Aluno(null, null, "Heitor", "67676767676", "heitor@exemplo.com"));
+        String alteracao = "{\"nome\": \"Heitor Lima\", \"cpf\": \"67676767676\", \"email\": \"heitor@exemplo.com\"}";
+
+        String etag = mockMvc.perform(put("/api/alunos/{id}", aluno.getId()).header("Idempotency-Key", "chave-etag")
+                .contentType(MediaType.APPLICATION_JSON).content(alteracao))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(put("/api/alunos/{id}", aluno.getId()).header("Idempotency-Key", "chave-etag")
+                .contentType(MediaType.APPLICATION_JSON).content(alteracao))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotency-Replayed", "true"))
+            .andExpect(header().string("ETag", etag));
+    }
+
+    @Test
+    void reservaAbandonadaVenceDepoisDoPrazo() throws Exception {
+        String aluno = "{\"nome\": \"Iara\", \"cpf\": \"68686868686\", \"email\": \"iara@exemplo.com\"}";
+        jdbcTemplate.update("insert into requisicao_idempotente (chave, metodo, caminho, reserva, criada_em) values (?, ?, ?, ?, ?)",
+            "chave-recente", "POST", "/api/alunos", "outra-instancia", Timestamp.from(Instant.now()));
+        jdbcTemplate.update("insert into requisicao_idempotente (chave, metodo, caminho, reserva, criada_em) values (?, ?, ?, ?, ?)",
+            "chave-abandonada", "POST", "/api/alunos", "outra-instancia", Timestamp.from(Instant.now().minusSeconds(60)));
+
+        // Ainda no prazo: a outra instância pode estar executando a requisição
+        mockMvc.perform(post("/api/alunos").header("Idempotency-Key", "chave-recente")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/alunos").header("Idempotency-Key", "chave-abandonada")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist("Idempotency-Replayed"));
+        mockMvc.perform(post("/api/alunos").header("Idempotency-Key", "chave-abandonada")
+                .contentType(MediaType.APPLICATION_JSON).content(aluno))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Idempotency-Replayed", "true"));
+        assertThat(alunoRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void importarCsvGravaLinhasValidasERelataErros() throws Exception {
+        alunoRepository.save(new Aluno(null, null, "Já Cadastrado", "00000000001", "ja@exemplo.com"));
+
+        String csv = """
+            nome,cpf,email
+            "Silva, Ana",11111111111,ana@exemplo.com
+            Bruno,22222222222,bruno@exemplo.com
+            Bruno Repetido,22222222222,outro@exemplo.com
+            Carla,00000000001,carla@exemplo.com
+            Daniel,333,email-invalido
+            """;
+
+        String resposta = mockMvc.perform(post("/api/alunos/importacao").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(resposta.lines()).last().asString()
+            .contains("\"tipo\":\"resumo\"", "\"linhasLidas\":5", "\"importados\":2", "\"rejeitados\":3");
+        assertThat(resposta).contains("\"linha\":4", "\"linha\":5", "\"linha\":6");
+        assertThat(alunoRepository.findByCpf("11111111111")).get().extracting(Aluno::getNome).isEqualTo("Silva, Ana");
+        assertThat(alunoRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void importarNdjsonGravaAlunos() throws Exception {
+        String ndjson = """
+            {"nome": "Eva", "cpf": "44444444444", "email": "eva@exemplo.com"}
+            {"nome": "Fábio", "cpf": "55555555555", "email": "fabio@exemplo.com"}
+            """;
+
+        mockMvc.perform(post("/api/alunos/importacao").contentType("application/x-ndjson").content(ndjson))
+            .andExpect(status().isOk());
+
+        assertThat(alunoRepository.count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,149 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.service.IndiceBuscaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BuscaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void buscaPorPrefixoIgnorandoAcentosEMaiusculas() throws Exception {
+        long aluno = criar("/api/alunos", "{\"nome\": \"Jéssica Conceição\", \"cpf\": \"70000000001\", \"email\": \"jessica.c@exemplo.com\"}");
+        criar("/api/alunos", "{\"nome\": \"Jessé Ramos\", \"cpf\": \"70000000002\", \"email\": \"jesse@exemplo.com\"}");
+        criar("/api/professores", "{\"nome\": \"Otávio Jessen\", \"areaEspecializacao\": \"Estatística\", \"curriculo\": \"Doutor\"}");
+
+        mockMvc.perform(get("/api/busca").param("q", "JESS conc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens", hasSize(1)))
+            .andExpect(jsonPath("$.itens[0].tipo").value("ALUNO"))
+            .andExpect(jsonPath("$.itens[0].id").value(aluno))
+            .andExpect(jsonPath("$.itens[0].detalhe").value("jessica.c@exemplo.com"));
+
+        mockMvc.perform(get("/api/busca").param("q", "jess").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens", hasSize(2)))
+            .andExpect(jsonPath("$.itens[0].tipo").value("ALUNO"))
+            .andExpect(jsonPath("$.proximoCursor").value(2));
+        mockMvc.perform(get("/api/busca").param("q", "jess").param("limit", "2").param("offset", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens[0].titulo").value("Otávio Jessen"));
+
+        mockMvc.perform(get("/api/busca").param("q", "estatistica").param("tipo", "professor"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens", hasSize(1)))
+            .andExpect(jsonPath("$.itens[0].titulo").value("Otávio Jessen"));
+    }
+
+    @Test
+    void emailEIndexadoInteiroSemAsPalavrasDoDominio() throws Exception {
+        long aluno = criar("/api/alunos", "{\"nome\": \"Wanderléia Prates\", \"cpf\": \"70000000011\", \"email\": \"w_prates.77@provedorxyz.com.br\"}");
+
+        mockMvc.perform(get("/api/busca").param("q", "provedorxyz"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+        mockMvc.perform(get("/api/busca").param("q", "w_prates.77@provedor"))
+            .andExpect(jsonPath("$.itens", hasSize(1)))
+            .andExpect(jsonPath("$.itens[0].id").value(aluno));
+        // O _ do e-mail não é curinga do like
+        mockMvc.perform(get("/api/busca").param("q", "w_prate_.77@"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+        mockMvc.perform(get("/api/busca").param("q", "prates").param("tipo", "aluno"))
+            .andExpect(jsonPath("$.itens", hasSize(1)));
+    }
+
+    @Test
+    void falhaNoIndiceNaoDerrubaAGravacao() throws Exception {
+        jdbcTemplate.execute("alter table termo_busca rename to termo_busca_fora");
+        long curso;
+        try {
+            curso = criar("/api/cursos", "{\"nome\": \"Xilogravura\", \"descricao\": \"Matrizes\", \"cargaHoraria\": 20}");
+        } finally {
+            jdbcTemplate.execute("alter table termo_busca_fora rename to termo_busca");
+        }
+        mockMvc.perform(get("/api/busca").param("q", "xilogravura"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+
+        indiceBuscaService.sincronizar();
+        mockMvc.perform(get("/api/busca").param("q", "xilogravura"))
+            .andExpect(jsonPath("$.itens", hasSize(1)))
+            .andExpect(jsonPath("$.itens[0].id").value(curso));
+    }
+
+    @Test
+    void indiceAcompanhaAlteracoesEExclusoes() throws Exception {
+        long curso = criar("/api/cursos", "{\"nome\": \"Criptografia Aplicada\", \"descricao\": \"Cifras\", \"cargaHoraria\": 40}");
+
+        mockMvc.perform(put("/api/cursos/{id}", curso)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Segurança da Informação\", \"descricao\": \"Cifras\", \"cargaHoraria\": 40}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/busca").param("q", "criptografia"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+        mockMvc.perform(get("/api/busca").param("q", "seguranca inf").param("tipo", "curso"))
+            .andExpect(jsonPath("$.itens", hasSize(1)));
+
+        mockMvc.perform(delete("/api/cursos/{id}", curso)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/busca").param("q", "seguranca inf"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+        mockMvc.perform(get("/api/busca").param("q", "  ?! "))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sincronizacaoIndexaRegistrosGravadosPorFora() throws Exception {
+        jdbcTemplate.update("insert into professor (nome, area_especializacao, curriculo) values ('Quitéria Lobo', 'Geodésia', 'Doutora')");
+        long professor = jdbcTemplate.queryForObject("select id from professor where nome = 'Quitéria Lobo'", Long.class);
+        mockMvc.perform(get("/api/busca").param("q", "quiteria"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+
+        indiceBuscaService.sincronizar();
+        mockMvc.perform(get("/api/busca").param("q", "quit geod"))
+            .andExpect(jsonPath("$.itens", hasSize(1)))
+            .andExpect(jsonPath("$.itens[0].id").value(professor))
+            .andExpect(jsonPath("$.itens[0].detalhe").value("Geodésia"));
+
+        jdbcTemplate.update("delete from professor where id = ?", professor);
+        indiceBuscaService.sincronizar();
+        mockMvc.perform(get("/api/busca").param("q", "quiteria"))
+            .andExpect(jsonPath("$.itens", hasSize(0)));
+
+        // Prefixos de uma letra casariam com boa parte do cadastro
+        mockMvc.perform(get("/api/busca").param("q", "q"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private long criar(String url, String json) throws Exception {
+        String resposta = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode criado = objectMapper.readTree(resposta);
+        return criado.get("id").asLong();
+    }
+}
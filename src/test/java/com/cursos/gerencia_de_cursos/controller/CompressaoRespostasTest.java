@@ -0,0 +1,98 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Passa pelo Tomcat de verdade: a compressão não existe no MockMvc. A
+ * configuração é a do application.properties principal, que o de testes
+ * substitui.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.compression.enabled=true",
+    "server.compression.mime-types=application/json,application/problem+json,application/cbor",
+    "server.compression.min-response-size=2KB"
+})
+class CompressaoRespostasTest {
+
+    private static final String DESCRICAO = "Conteúdo programático extenso, para passar do tamanho mínimo de compressão. ".repeat(3);
+
+    @LocalServerPort
+    private int porta;
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private AlunoRepository alunoRepository;
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void limparBase() {
+        turmaRepository.deleteAll();
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    void respostaComETagNaoEComprimidaEAETagSegueForte() throws Exception {
+        Curso curso = null;
+        for (int i = 0; i < 20; i++) {
+            curso = cursoRepository.save(new Curso(null, null, "Curso " + i, DESCRICAO, 40));
+        }
+        for (int i = 0; i < 40; i++) {
+            alunoRepository.save(new Aluno(null, null, "Aluno " + i + " " + DESCRICAO.substring(0, 40),
+                String.format("%011d", 77_000_000_000L + i), "aluno" + i + "@exemplo.com"));
+        }
+
+        // Sem ETag, a listagem grande sai comprimida
+        HttpResponse<byte[]> alunos = cliente.send(requisicao("/api/alunos").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(alunos.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+
+        // Com ETag forte, o Tomcat não comprime e não a enfraquece para W/
+        HttpResponse<byte[]> cursos = cliente.send(requisicao("/api/cursos").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(cursos.body().length).isGreaterThan(2048);
+        assertThat(cursos.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(cursos.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(etag -> assertThat(etag).startsWith("\""));
+        assertThat(cursos.headers().allValues(HttpHeaders.VARY)).anyMatch(vary -> vary.contains(HttpHeaders.ACCEPT));
+
+        HttpResponse<byte[]> detalhe = cliente.send(requisicao("/api/cursos/" + curso.getId()).build(), HttpResponse.BodyHandlers.ofByteArray());
+        String etag = detalhe.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(etag).startsWith("\"");
+
+        HttpResponse<byte[]> naoModificado = cliente.send(requisicao("/api/cursos/" + curso.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, etag).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(naoModificado.statusCode()).isEqualTo(304);
+        assertThat(naoModificado.headers().allValues(HttpHeaders.VARY)).anyMatch(vary -> vary.contains(HttpHeaders.ACCEPT));
+
+        // A ETag recebida volta no If-Match e é aceita
+        HttpResponse<String> alteracao = cliente.send(requisicao("/api/cursos/" + curso.getId())
+            .header(HttpHeaders.IF_MATCH, etag)
+            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString("{\"nome\": \"Curso alterado\", \"descricao\": \"" + DESCRICAO + "\", \"cargaHoraria\": 60}"))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(alteracao.statusCode()).isEqualTo(200);
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+            .header(HttpHeaders.ACCEPT, "application/json")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    }
+}
@@ -0,0 +1,103 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CursoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void buscarPorIdUsaCacheAteOCursoSerAlterado() throws Exception {
+        Curso curso = cursoRepository.save(new Curso(null, null, "Redes", "Fundamentos de redes", 40));
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        mockMvc.perform(get("/api/cursos/{id}", curso.getId())).andExpect(status().isOk());
+        estatisticas.clear();
+        mockMvc.perform(get("/api/cursos/{id}", curso.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nome").value("Redes"));
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(put("/api/cursos/{id}", curso.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Redes II\", \"descricao\": \"Roteamento\", \"cargaHoraria\": 60}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/cursos/{id}", curso.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nome").value("Redes II"));
+
+        mockMvc.perform(get("/api/cache/estatisticas"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cursos.acertos").isNumber())
+            .andExpect(jsonPath("$.cursos.falhas").isNumber())
+            .andExpect(jsonPath("$.professores.remocoes").isNumber());
+    }
+
+    @Test
+    void listagemEDetalheRespondem304AteOCursoSerAlterado() throws Exception {
+        Curso curso = cursoRepository.save(new Curso(null, null, "Banco de Dados", "Modelagem relacional", 60));
+        mockMvc.perform(post("/api/cursos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Compiladores\", \"descricao\": \"Análise léxica\", \"cargaHoraria\": 80}"))
+            .andExpect(status().isCreated());
+
+        String etagLista = mockMvc.perform(get("/api/cursos"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etagCurso = mockMvc.perform(get("/api/cursos/{id}", curso.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/cursos").header(HttpHeaders.IF_NONE_MATCH, etagLista))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/cursos/{id}", curso.getId()).header(HttpHeaders.IF_NONE_MATCH, etagCurso))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/cursos/{id}", curso.getId())
+                .header(HttpHeaders.IF_MATCH, etagCurso)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Banco de Dados II\", \"descricao\": \"Transações\", \"cargaHoraria\": 60}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etagCurso)));
+
+        mockMvc.perform(put("/api/cursos/{id}", curso.getId())
+                .header(HttpHeaders.IF_MATCH, etagCurso)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Banco de Dados III\", \"descricao\": \"Índices\", \"cargaHoraria\": 60}"))
+            .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/cursos").header(HttpHeaders.IF_NONE_MATCH, etagLista))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/cursos/{id}", curso.getId()).header(HttpHeaders.IF_NONE_MATCH, etagCurso))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nome").value("Banco de Dados II"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.service.EstatisticaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EstatisticaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Test
+    void contadoresAcompanhamTurmasMatriculasECargaHoraria() throws Exception {
+        long curso = criar("/api/cursos", "{\"nome\": \"Sistemas Operacionais\", \"descricao\": \"Processos\", \"cargaHoraria\": 40}");
+        long professor = criar("/api/professores", "{\"nome\": \"Helena\", \"areaEspecializacao\": \"Sistemas\", \"curriculo\": \"Doutora\"}");
+        long turma = criar("/api/turmas", "{\"codigoTurma\": \"SO-2025\", \"dataInicio\": \"2025-02-01\", \"dataFim\": \"2025-06-30\", "
+            + "\"capacidade\": 2, \"curso\": {\"id\": " + curso + "}, \"professor\": {\"id\": " + professor + "}}");
+        long[] alunos = new long[3];
+        for (int i = 0; i < alunos.length; i++) {
+            alunos[i] = criar("/api/alunos", "{\"nome\": \"Aluno SO " + i + "\", \"cpf\": \"8100000000" + i + "\", \"email\": \"so" + i + "@exemplo.com\"}");
+            mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turma, alunos[i]));
+        }
+
+        mockMvc.perform(get("/api/estatisticas/turmas/{id}", turma))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.matriculados").value(2))
+            .andExpect(jsonPath("$.capacidade").value(2));
+        mockMvc.perform(get("/api/estatisticas/cursos/{id}", curso))
+            .andExpect(jsonPath("$.turmas").value(1))
+            .andExpect(jsonPath("$.matriculados").value(2));
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professor))
+            .andExpect(jsonPath("$.turmas").value(1))
+            .andExpect(jsonPath("$.matriculados").value(2))
+            .andExpect(jsonPath("$.horasAula").value(40));
+
+        mockMvc.perform(put("/api/cursos/{id}", curso).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Sistemas Operacionais\", \"descricao\": \"Processos\", \"cargaHoraria\": 60}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/turmas/{turmaId}/desmatricular/{alunoId}", turma, alunos[0]))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professor))
+            .andExpect(jsonPath("$.matriculados").value(2))
+            .andExpect(jsonPath("$.horasAula").value(60));
+
+        mockMvc.perform(delete("/api/turmas/{id}", turma)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/estatisticas/cursos/{id}", curso))
+            .andExpect(jsonPath("$.turmas").value(0))
+            .andExpect(jsonPath("$.matriculados").value(0));
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professor))
+            .andExpect(jsonPath("$.turmas").value(0))
+            .andExpect(jsonPath("$.horasAula").value(0));
+        mockMvc.perform(get("/api/estatisticas/turmas/{id}", turma)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reconciliacaoCorrigeContadoresDivergentes() throws Exception {
+        long curso = criar("/api/cursos", "{\"nome\": \"Compiladores\", \"descricao\": \"Gramáticas\", \"cargaHoraria\": 30}");
+        long professor = criar("/api/professores", "{\"nome\": \"Igor\", \"areaEspecializacao\": \"Linguagens\", \"curriculo\": \"Mestre\"}");
+        long turma = criar("/api/turmas", "{\"codigoTurma\": \"COMP-2025\", \"dataInicio\": \"2025-02-01\", \"dataFim\": \"2025-06-30\", "
+            + "\"curso\": {\"id\": " + curso + "}, \"professor\": {\"id\": " + professor + "}}");
+        long aluno = criar("/api/alunos", "{\"nome\": \"Aluno Compiladores\", \"cpf\": \"82000000001\", \"email\": \"comp@exemplo.com\"}");
+
+        jdbcTemplate.update("insert into turma_aluno (turma_id, aluno_id) values (?, ?)", turma, aluno);
+        jdbcTemplate.update("update estatistica_professor set horas_aula = 999 where professor_id = ?", professor);
+
+        estatisticaService.reconciliar();
+
+        mockMvc.perform(get("/api/estatisticas/turmas/{id}", turma))
+            .andExpect(jsonPath("$.matriculados").value(1));
+        mockMvc.perform(get("/api/estatisticas/cursos/{id}", curso))
+            .andExpect(jsonPath("$.matriculados").value(1));
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professor))
+            .andExpect(jsonPath("$.matriculados").value(1))
+            .andExpect(jsonPath("$.horasAula").value(30));
+    }
+
+    @Test
+    void reconciliacaoAgendadaRodaEmUmaInstanciaPorVez() throws Exception {
+        long curso = criar("/api/cursos", "{\"nome\": \"Redes Neurais\", \"descricao\": \"Perceptrons\", \"cargaHoraria\": 20}");
+        long professor = criar("/api/professores", "{\"nome\": \"Vera\", \"areaEspecializacao\": \"IA\", \"curriculo\": \"Doutora\"}");
+        criar("/api/turmas", "{\"codigoTurma\": \"RN-2025\", \"dataInicio\": \"2025-02-01\", \"dataFim\": \"2025-06-30\", "
+            + "\"curso\": {\"id\": " + curso + "}, \"professor\": {\"id\": " + professor + "}}");
+        jdbcTemplate.update("update estatistica_professor set horas_aula = 999 where professor_id = ?", professor);
+
+        // Outra instância está reconciliando
+        jdbcTemplate.update("delete from trava_execucao");
+        jdbcTemplate.update("insert into trava_execucao (nome, bloqueada_ate, dono) values (?, timestampadd(minute, 5, current_timestamp(6)), 'outra')",
+            EstatisticaService.TRAVA_RECONCILIACAO);
+        estatisticaService.agendarReconciliacao();
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professor))
+            .andExpect(jsonPath("$.horasAula").value(999));
+
+        jdbcTemplate.update("update trava_execucao set bloqueada_ate = current_timestamp(6)");
+        estatisticaService.agendarReconciliacao();
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professor))
+            .andExpect(jsonPath("$.horasAula").value(20));
+        jdbcTemplate.update("delete from trava_execucao");
+    }
+
+    private long criar(String url, String json) throws Exception {
+        String resposta = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+}
@@ -0,0 +1,130 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.service.ArquivamentoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FechamentoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${gerencia.fechamento.diretorio}")
+    private Path raiz;
+
+    @AfterEach
+    void limparHistorico() {
+        jdbcTemplate.update("delete from turma_aluno_historico");
+        jdbcTemplate.update("delete from turma_historico");
+    }
+
+    @Test
+    void geraListasECertificadosERetomaDoUltimoBlocoConcluido() throws Exception {
+        long curso = criar("/api/cursos", "{\"nome\": \"Redes de Computadores\", \"descricao\": \"Protocolos\", \"cargaHoraria\": 60}");
+        long professor = criar("/api/professores", "{\"nome\": \"Otávio\", \"areaEspecializacao\": \"Redes\", \"curriculo\": \"Doutor\"}");
+        long[] turmas = new long[3];
+        for (int i = 0; i < turmas.length; i++) {
+            turmas[i] = criar("/api/turmas", "{\"codigoTurma\": \"REDES-2019-" + i + "\", \"dataInicio\": \"2019-0" + (3 * i + 1) + "-01\", "
+                + "\"dataFim\": \"2019-0" + (3 * i + 3) + "-28\", \"capacidade\": 10, "
+                + "\"curso\": {\"id\": " + curso + "}, \"professor\": {\"id\": " + professor + "}}");
+        }
+        long[] alunos = new long[4];
+        for (int i = 0; i < alunos.length; i++) {
+            long aluno = alunos[i] = criar("/api/alunos", "{\"nome\": \"Aluno Redes " + i + "\", \"cpf\": \"7300000000" + i + "\", \"email\": \"redes" + i + "@exemplo.com\"}");
+            mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turmas[i % 3], aluno)).andExpect(status().isOk());
+        }
+        // A primeira turma já foi para o histórico: continua no fechamento, com as suas matrículas
+        assertThat(arquivamentoService.arquivar(LocalDate.of(2019, 4, 1))).isEqualTo(1);
+        Path destino = raiz.resolve("2020-01-01");
+        FileSystemUtils.deleteRecursively(destino);
+
+        mockMvc.perform(get("/api/fechamentos/2020-01-01")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/fechamentos/2020-01-01"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.turmasTotal").value(3));
+
+        JsonNode andamento = aguardarConclusao("2020-01-01");
+        assertThat(andamento.get("turmasProcessadas").asLong()).isEqualTo(3);
+        assertThat(andamento.get("certificados").asLong()).isEqualTo(4);
+        assertThat(Files.readString(destino.resolve("turma-" + turmas[0]).resolve("lista.txt")))
+            .contains("Turma REDES-2019-0", "Redes de Computadores (60 horas)", "Professor: Otávio",
+                "Período: 01/01/2019 a 28/03/2019", "Aluno Redes 0 - CPF 73000000000", "Aluno Redes 3 - CPF 73000000003");
+        assertThat(Files.readString(destino.resolve("turma-" + turmas[1]).resolve("certificado-" + alunos[1] + ".txt")))
+            .contains("Aluno Redes 1, CPF 73000000001, concluiu o curso Redes de Computadores, com carga horária de 60 horas");
+
+        // Interrompido depois do primeiro bloco (duas turmas): só a terceira é gerada de novo
+        FileSystemUtils.deleteRecursively(destino.resolve("turma-" + turmas[0]));
+        FileSystemUtils.deleteRecursively(destino.resolve("turma-" + turmas[2]));
+        ObjectNode interrompido = (ObjectNode) andamento;
+        interrompido.put("situacao", "FALHOU").put("turmasProcessadas", 2).put("certificados", 3).put("ultimaTurmaId", turmas[1]);
+        Files.write(destino.resolve("andamento.json"), objectMapper.writeValueAsBytes(interrompido));
+
+        mockMvc.perform(post("/api/fechamentos/2020-01-01")).andExpect(status().isAccepted());
+        andamento = aguardarConclusao("2020-01-01");
+        assertThat(andamento.get("turmasProcessadas").asLong()).isEqualTo(3);
+        assertThat(andamento.get("certificados").asLong()).isEqualTo(4);
+        assertThat(destino.resolve("turma-" + turmas[0])).doesNotExist();
+        assertThat(destino.resolve("turma-" + turmas[2]).resolve("lista.txt")).exists();
+
+        // Um fechamento concluído não é refeito, a menos que seja pedido
+        mockMvc.perform(post("/api/fechamentos/2020-01-01"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.situacao").value("CONCLUIDO"));
+        mockMvc.perform(post("/api/fechamentos/2020-01-01").param("refazer", "true"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.turmasProcessadas").value(0));
+        aguardarConclusao("2020-01-01");
+        assertThat(destino.resolve("turma-" + turmas[0]).resolve("lista.txt")).exists();
+    }
+
+    private JsonNode aguardarConclusao(String data) throws Exception {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String resposta = mockMvc.perform(get("/api/fechamentos/{data}", data))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode andamento = objectMapper.readTree(resposta);
+            if (!"EM_ANDAMENTO".equals(andamento.get("situacao").asString())) {
+                assertThat(andamento.get("situacao").asString()).isEqualTo("CONCLUIDO");
+                return andamento;
+            }
+            assertThat(System.currentTimeMillis()).isLessThan(limite);
+            Thread.sleep(50);
+        }
+    }
+
+    private long criar(String url, String json) throws Exception {
+        String resposta = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+}
@@ -0,0 +1,188 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MatriculaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private AlunoRepository alunoRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Turma turma;
+    private Aluno primeiro;
+    private Aluno segundo;
+
+    @BeforeEach
+    void prepararBase() {
+        turmaRepository.deleteAll();
+        alunoRepository.deleteAll();
+        cursoRepository.deleteAll();
+        professorRepository.deleteAll();
+
+        Curso curso = new Curso();
+        curso.setNome("Banco de Dados");
+        curso.setDescricao("Modelagem e SQL");
+        curso.setCargaHoraria(60);
+
+        Professor professor = new Professor();
+        professor.setNome("Ana");
+        professor.setAreaEspecializacao("Dados");
+        professor.setCurriculo("Doutora em Computação");
+
+        turma = new Turma();
+        turma.setCodigoTurma("BD-2025-1");
+        turma.setDataInicio(LocalDate.of(2025, 2, 1));
+        turma.setDataFim(LocalDate.of(2025, 6, 30));
+        turma.setCurso(cursoRepository.save(curso));
+        turma.setProfessor(professorRepository.save(professor));
+        turma = turmaRepository.save(turma);
+
+        primeiro = alunoRepository.save(new Aluno(null, null, "Bruno", "11111111111", "bruno@exemplo.com"));
+        segundo = alunoRepository.save(new Aluno(null, null, "Carla", "22222222222", "carla@exemplo.com"));
+    }
+
+    @Test
+    void matricularEmLoteInformaResultadoPorItem() throws Exception {
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turma.getId(), primeiro.getId()))
+            .andExpect(status().isOk());
+
+        String pedidos = """
+            [
+              {"turmaId": %1$d, "alunoId": %2$d},
+              {"turmaId": %1$d, "alunoId": %3$d},
+              {"turmaId": %1$d, "alunoId": %3$d},
+              {"turmaId": %1$d, "alunoId": -1},
+              {"turmaId": -1, "alunoId": %3$d}
+            ]
+            """.formatted(turma.getId(), primeiro.getId(), segundo.getId());
+
+        mockMvc.perform(post("/api/matriculas/lote").contentType(MediaType.APPLICATION_JSON).content(pedidos))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.matriculados").value(1))
+            .andExpect(jsonPath("$.jaMatriculados").value(2))
+            .andExpect(jsonPath("$.lotados").value(0))
+            .andExpect(jsonPath("$.naoEncontrados").value(2))
+            .andExpect(jsonPath("$.itens[0].status").value("JA_MATRICULADO"))
+            .andExpect(jsonPath("$.itens[1].status").value("MATRICULADO"))
+            .andExpect(jsonPath("$.itens[2].status").value("JA_MATRICULADO"))
+            .andExpect(jsonPath("$.itens[3].status").value("ALUNO_NAO_ENCONTRADO"))
+            .andExpect(jsonPath("$.itens[4].status").value("TURMA_NAO_ENCONTRADA"));
+    }
+
+    @Test
+    void matricularEmLoteContaTurmaLotadaSeparadamente() throws Exception {
+        turma.setCapacidade(2);
+        turma = turmaRepository.save(turma);
+        Aluno terceiro = alunoRepository.save(new Aluno(null, null, "Diego", "33333333333", "diego@exemplo.com"));
+        Aluno quarto = alunoRepository.save(new Aluno(null, null, "Elisa", "44444444444", "elisa@exemplo.com"));
+
+        String pedidos = """
+            [
+              {"turmaId": %1$d, "alunoId": %2$d},
+              {"turmaId": %1$d, "alunoId": %3$d},
+              {"turmaId": %1$d, "alunoId": %2$d},
+              {"turmaId": %1$d, "alunoId": %4$d},
+              {"turmaId": %1$d, "alunoId": %5$d},
+              {"turmaId": %1$d, "alunoId": -1}
+            ]
+            """.formatted(turma.getId(), primeiro.getId(), segundo.getId(), terceiro.getId(), quarto.getId());
+
+        mockMvc.perform(post("/api/matriculas/lote").contentType(MediaType.APPLICATION_JSON).content(pedidos))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.matriculados").value(2))
+            .andExpect(jsonPath("$.jaMatriculados").value(1))
+            .andExpect(jsonPath("$.lotados").value(2))
+            .andExpect(jsonPath("$.naoEncontrados").value(1))
+            .andExpect(jsonPath("$.itens[3].status").value("TURMA_LOTADA"))
+            .andExpect(jsonPath("$.itens[4].status").value("TURMA_LOTADA"));
+        assertThat(turmaRepository.findById(turma.getId())).get().extracting(Turma::getVagasOcupadas).isEqualTo(2);
+    }
+
+    @Test
+    void exportarGeraUmaLinhaNdjsonPorMatricula() throws Exception {
+        mockMvc.perform(post("/api/matriculas/lote/turmas/{turmaId}", turma.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[%d, %d]".formatted(primeiro.getId(), segundo.getId())))
+            .andExpect(status().isOk());
+
+        MvcResult resultado = mockMvc.perform(get("/api/matriculas/exportacao"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo.lines()).hasSize(2);
+        assertThat(corpo.lines().findFirst()).get().asString()
+            .contains("\"codigoTurma\":\"BD-2025-1\"", "\"cpf\":\"11111111111\"", "\"professor\":\"Ana\"");
+    }
+
+    @Test
+    void exportarPublicaOSqlExecutadoForaDaThreadDaRequisicao() throws Exception {
+        mockMvc.perform(post("/api/matriculas/lote/turmas/{turmaId}", turma.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[%d, %d]".formatted(primeiro.getId(), segundo.getId())))
+            .andExpect(status().isOk());
+        DistributionSummary instrucoes = meterRegistry.find("gerencia.endpoint.sql.instrucoes")
+            .tag("metodo", "MatriculaController.exportar").summary();
+        long exportacoesAntes = instrucoes == null ? 0 : instrucoes.count();
+        double instrucoesAntes = instrucoes == null ? 0 : instrucoes.totalAmount();
+
+        MvcResult resultado = mockMvc.perform(get("/api/matriculas/exportacao"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+
+        instrucoes = meterRegistry.get("gerencia.endpoint.sql.instrucoes")
+            .tag("metodo", "MatriculaController.exportar").summary();
+        assertThat(instrucoes.count()).isEqualTo(exportacoesAntes + 1);
+        assertThat(instrucoes.totalAmount()).isGreaterThan(instrucoesAntes);
+    }
+
+    @Test
+    void assinaturaDoFeedNaoEntraNasMetricasDeEndpoint() throws Exception {
+        mockMvc.perform(get("/api/alteracoes")).andExpect(request().asyncStarted());
+
+        assertThat(meterRegistry.find("gerencia.endpoint.latencia")
+            .tag("metodo", "AlteracaoController.assinar").timer()).isNull();
+    }
+}
@@ -0,0 +1,480 @@
+package com.cursos.gerencia_de_cursos.controller;
+
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+import com.cursos.gerencia_de_cursos.service.ArquivamentoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TurmaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private AlunoRepository alunoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void limparBase() {
+        turmaRepository.deleteAll();
+        alunoRepository.deleteAll();
+        cursoRepository.deleteAll();
+        professorRepository.deleteAll();
+    }
+
+    @AfterEach
+    void limparHistorico() {
+        jdbcTemplate.update("delete from turma_aluno_historico");
+        jdbcTemplate.update("delete from turma_historico");
+    }
+
+    @Test
+    void listarTodosExecutaNumeroConstanteDeConsultas() throws Exception {
+        criarTurmas(5);
+        long consultasPaginaPequena = contarConsultas("/api/turmas?limit=50&fields=completo");
+
+        criarTurmas(40);
+        long consultasPaginaGrande = contarConsultas("/api/turmas?limit=50&fields=completo");
+
+        assertThat(consultasPaginaPequena).isLessThanOrEqualTo(2);
+        assertThat(consultasPaginaGrande).isEqualTo(consultasPaginaPequena);
+    }
+
+    @Test
+    void listarTodosResumoUsaUmaConsultaSemColunasDesnecessarias() throws Exception {
+        criarTurmas(10);
+
+        assertThat(contarConsultas("/api/turmas?limit=50")).isEqualTo(1);
+
+        mockMvc.perform(get("/api/turmas").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens[0].cursoNome").exists())
+            .andExpect(jsonPath("$.itens[0].professorNome").exists())
+            .andExpect(jsonPath("$.itens[0].curso").doesNotExist());
+
+        mockMvc.perform(get("/api/turmas").param("fields", "desconhecido"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listarTodosPaginaPorCursor() throws Exception {
+        List<Turma> turmas = criarTurmas(3);
+
+        mockMvc.perform(get("/api/turmas").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(2))
+            .andExpect(jsonPath("$.proximoCursor").value(turmas.get(1).getId()));
+
+        mockMvc.perform(get("/api/turmas").param("limit", "2").param("after", turmas.get(1).getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void listarTodosFiltraPorCursoProfessorEPeriodo() throws Exception {
+        List<Turma> turmas = criarTurmas(3);
+        Turma segundoSemestre = turmas.get(2);
+        segundoSemestre.setDataInicio(LocalDate.of(2025, 8, 1));
+        segundoSemestre.setDataFim(LocalDate.of(2025, 12, 15));
+        turmaRepository.save(segundoSemestre);
+
+        mockMvc.perform(get("/api/turmas").param("cursoId", turmas.get(1).getCurso().getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[0].id").value(turmas.get(1).getId()));
+
+        mockMvc.perform(get("/api/turmas")
+                .param("professorId", turmas.get(0).getProfessor().getId().toString())
+                .param("fields", "completo"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[0].codigoTurma").value(turmas.get(0).getCodigoTurma()));
+
+        mockMvc.perform(get("/api/turmas").param("dataInicio", "2025-09-10").param("dataFim", "2025-09-10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[0].id").value(segundoSemestre.getId()));
+
+        mockMvc.perform(get("/api/turmas").param("dataInicio", "2025-06-30"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(3));
+
+        mockMvc.perform(get("/api/turmas").param("dataInicio", "2025-12-01").param("dataFim", "2025-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listarTodosNegociaCborComOMesmoConteudoDoJson() throws Exception {
+        criarTurmas(3);
+
+        byte[] json = mockMvc.perform(get("/api/turmas?fields=completo").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/turmas?fields=completo").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new CBORMapper().readTree(cbor)).isEqualTo(objectMapper.readTree(json));
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    @Test
+    void listarTodosPublicaMetricasDeLatenciaESql() throws Exception {
+        criarTurmas(2);
+        mockMvc.perform(get("/api/turmas")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/gerencia.endpoint.latencia").param("tag", "metodo:TurmaController.listarTodos"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").isNotEmpty());
+        mockMvc.perform(get("/actuator/metrics/gerencia.endpoint.sql.instrucoes").param("tag", "metodo:TurmaController.listarTodos"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.active"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/hibernate.statements"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void matricularAlunoGravaSomenteAMatricula() throws Exception {
+        Turma turma = criarTurmas(1).get(0);
+        Aluno aluno = alunoRepository.save(novoAluno("99999999999"));
+
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turma.getId(), aluno.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("MATRICULADO"));
+
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turma.getId(), aluno.getId()))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turma.getId(), -1L))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/turmas/{turmaId}/desmatricular/{alunoId}", turma.getId(), aluno.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("DESMATRICULADO"));
+
+        mockMvc.perform(delete("/api/turmas/{turmaId}/desmatricular/{alunoId}", turma.getId(), aluno.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void buscarPorIdResponde304EnquantoATurmaNaoMuda() throws Exception {
+        Turma turma = criarTurmas(1).get(0);
+        Aluno aluno = alunoRepository.save(novoAluno("88888888888"));
+
+        String etag = mockMvc.perform(get("/api/turmas/{id}", turma.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        mockMvc.perform(get("/api/turmas/{id}", turma.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", turma.getId(), aluno.getId()))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/turmas/{id}", turma.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.vagasOcupadas").value(1));
+    }
+
+    @Test
+    void criarTurmaGravaComUmaInstrucaoERespondeSemRecarregar() throws Exception {
+        Turma existente = criarTurmas(1).get(0);
+        long cursoId = existente.getCurso().getId();
+        long professorId = existente.getProfessor().getId();
+        mockMvc.perform(get("/api/cursos/{id}", cursoId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/professores/{id}", professorId)).andExpect(status().isOk());
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-NOVA", "2026-01-10", "2026-03-10", cursoId, professorId)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.curso.nome").value(existente.getCurso().getNome()))
+            .andExpect(jsonPath("$.professor.nome").value(existente.getProfessor().getNome()))
+            .andExpect(jsonPath("$.vagasOcupadas").value(0));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void criarTurmaTraduzRestricoesDoBanco() throws Exception {
+        Turma existente = criarTurmas(1).get(0);
+        long cursoId = existente.getCurso().getId();
+        long professorId = existente.getProfessor().getId();
+
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson(existente.getCodigoTurma(), "2027-01-10", "2027-03-10", cursoId, professorId)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value("Código da turma já cadastrado."));
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-SEM-CURSO", "2027-01-10", "2027-03-10", cursoId + 1000, professorId)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Curso não encontrado para associação."));
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-SEM-PROFESSOR", "2027-01-10", "2027-03-10", cursoId, professorId + 1000)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Professor não encontrado para associação."));
+        assertThat(turmaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void professorNaoAssumeTurmasComPeriodosSobrepostos() throws Exception {
+        Turma existente = criarTurmas(1).get(0);
+        long cursoId = existente.getCurso().getId();
+        long professorId = existente.getProfessor().getId();
+
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-SOBREPOSTA", "2025-06-15", "2025-08-01", cursoId, professorId)))
+            .andExpect(status().isConflict());
+
+        String resposta = mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-SEGUNDO-SEMESTRE", "2025-07-01", "2025-12-01", cursoId, professorId)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long segundoSemestre = objectMapper.readTree(resposta).get("id").asLong();
+
+        mockMvc.perform(put("/api/turmas/{id}", segundoSemestre).contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-SEGUNDO-SEMESTRE", "2025-06-30", "2025-12-01", cursoId, professorId)))
+            .andExpect(status().isConflict());
+        // Período que abrange as duas turmas: a última a começar até o fim dele ainda não terminou no início
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-ANO-TODO", "2024-12-01", "2026-01-31", cursoId, professorId)))
+            .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-VERAO", "2025-12-02", "2026-01-31", cursoId, professorId)))
+            .andExpect(status().isCreated());
+
+        Turma legada = new Turma();
+        legada.setCodigoTurma("T-LEGADA");
+        legada.setDataInicio(LocalDate.of(2025, 3, 1));
+        legada.setDataFim(LocalDate.of(2025, 3, 31));
+        legada.setCurso(existente.getCurso());
+        legada.setProfessor(existente.getProfessor());
+        legada = turmaRepository.save(legada);
+
+        mockMvc.perform(get("/api/professores/conflitos"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].professorId").value(professorId))
+            .andExpect(jsonPath("$[0].turmaId").value(existente.getId()))
+            .andExpect(jsonPath("$[0].turmaConflitanteId").value(legada.getId()))
+            .andExpect(jsonPath("$[0].inicio").value("2025-03-01"))
+            .andExpect(jsonPath("$[0].fim").value("2025-03-31"));
+
+        mockMvc.perform(delete("/api/turmas/{id}", legada.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/professores/conflitos"))
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void gravacoesSimultaneasNaoReservamOMesmoPeriodoDoProfessor() throws Exception {
+        long cursoId = criar("/api/cursos", "{\"nome\": \"Compiladores\", \"descricao\": \"Análise sintática\", \"cargaHoraria\": 60}");
+        long professorId = criar("/api/professores", "{\"nome\": \"Sérgio\", \"areaEspecializacao\": \"Linguagens\", \"curriculo\": \"Doutor\"}");
+        int concorrentes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(concorrentes);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> futuros = new ArrayList<>();
+        try {
+            for (int i = 0; i < concorrentes; i++) {
+                String json = turmaJson("T-DISPUTA-" + i, "2027-03-0" + (i + 1), "2027-06-30", cursoId, professorId);
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    return mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON).content(json))
+                        .andReturn().getResponse().getStatus();
+                }));
+            }
+            largada.countDown();
+            List<Integer> situacoes = new ArrayList<>();
+            for (Future<Integer> futuro : futuros) {
+                situacoes.add(futuro.get());
+            }
+            assertThat(situacoes).containsOnlyOnce(201).containsOnly(201, 409);
+        } finally {
+            executor.shutdownNow();
+        }
+        mockMvc.perform(get("/api/professores/conflitos")).andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void arquivamentoMoveTurmasEncerradasParaOHistorico() throws Exception {
+        long cursoId = criar("/api/cursos", "{\"nome\": \"Arquitetura\", \"descricao\": \"Pipelines\", \"cargaHoraria\": 40}");
+        long professorId = criar("/api/professores", "{\"nome\": \"Júlia\", \"areaEspecializacao\": \"Hardware\", \"curriculo\": \"Doutora\"}");
+        long alunoId = criar("/api/alunos", "{\"nome\": \"Aluno Arquivado\", \"cpf\": \"91000000001\", \"email\": \"arq@exemplo.com\"}");
+        long encerradaId = criar("/api/turmas", turmaJson("T-ENCERRADA", "2025-02-01", "2025-06-30", cursoId, professorId));
+        mockMvc.perform(post("/api/turmas/{turmaId}/matricular/{alunoId}", encerradaId, alunoId)).andExpect(status().isOk());
+        criar("/api/turmas", turmaJson("T-EM-CURSO", "2026-02-01", "2026-06-30", cursoId, professorId));
+
+        assertThat(arquivamentoService.arquivar(LocalDate.of(2026, 1, 1))).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from turma_aluno where turma_id = ?", Long.class, encerradaId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select aluno_id from turma_aluno_historico where turma_id = ?", Long.class, encerradaId))
+            .isEqualTo(alunoId);
+        mockMvc.perform(get("/api/turmas").param("professorId", String.valueOf(professorId)))
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[0].codigoTurma").value("T-EM-CURSO"));
+        mockMvc.perform(get("/api/turmas/{id}", encerradaId))
+            .andExpect(status().isNotFound())
+            .andExpect(status().reason("A turma " + encerradaId + " foi arquivada; consulte-a com arquivadas=true."));
+
+        mockMvc.perform(get("/api/turmas").param("professorId", String.valueOf(professorId)).param("arquivadas", "true"))
+            .andExpect(jsonPath("$.itens.length()").value(1))
+            .andExpect(jsonPath("$.itens[0].id").value(encerradaId))
+            .andExpect(jsonPath("$.itens[0].vagasOcupadas").value(1));
+        mockMvc.perform(get("/api/turmas").param("arquivadas", "true").param("fields", "completo"))
+            .andExpect(jsonPath("$.itens[0].curso.id").value(cursoId));
+        mockMvc.perform(get("/api/turmas/{id}", encerradaId).param("arquivadas", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.codigoTurma").value("T-ENCERRADA"))
+            .andExpect(jsonPath("$.arquivadaEm").exists());
+
+        // As estatísticas passam a contar só a turma em uso, e o código arquivado fica livre
+        mockMvc.perform(get("/api/estatisticas/professores/{id}", professorId))
+            .andExpect(jsonPath("$.turmas").value(1));
+        mockMvc.perform(post("/api/turmas").contentType(MediaType.APPLICATION_JSON)
+                .content(turmaJson("T-ENCERRADA", "2026-08-01", "2026-12-01", cursoId, professorId)))
+            .andExpect(status().isCreated());
+        mockMvc.perform(delete("/api/alunos/{id}", alunoId))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value("O aluno possui matrículas em turmas arquivadas."));
+    }
+
+    @Test
+    void arquivamentoAgendadoRodaEmUmaInstanciaPorVez() throws Exception {
+        long cursoId = criar("/api/cursos", "{\"nome\": \"Redes\", \"descricao\": \"Roteamento\", \"cargaHoraria\": 40}");
+        long professorId = criar("/api/professores", "{\"nome\": \"Caio\", \"areaEspecializacao\": \"Redes\", \"curriculo\": \"Mestre\"}");
+        long antigaId = criar("/api/turmas", turmaJson("T-ANTIGA", "2019-02-01", "2019-06-30", cursoId, professorId));
+
+        // Outra instância está arquivando
+        jdbcTemplate.update("delete from trava_execucao");
+        jdbcTemplate.update("insert into trava_execucao (nome, bloqueada_ate, dono) values (?, timestampadd(minute, 5, current_timestamp(6)), 'outra')",
+            ArquivamentoService.TRAVA_ARQUIVAMENTO);
+        arquivamentoService.agendar();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from turma where id = ?", Long.class, antigaId)).isOne();
+
+        jdbcTemplate.update("update trava_execucao set bloqueada_ate = current_timestamp(6)");
+        arquivamentoService.agendar();
+        long limite = System.currentTimeMillis() + 10_000;
+        while (jdbcTemplate.queryForObject("select count(*) from turma_historico where id = ?", Long.class, antigaId) == 0) {
+            assertThat(System.currentTimeMillis()).isLessThan(limite);
+            Thread.sleep(50);
+        }
+        jdbcTemplate.update("delete from trava_execucao");
+    }
+
+    private long criar(String url, String json) throws Exception {
+        String resposta = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+
+    private String turmaJson(String codigo, String inicio, String fim, long cursoId, long professorId) {
+        return "{\"codigoTurma\": \"" + codigo + "\", \"dataInicio\": \"" + inicio + "\", \"dataFim\": \"" + fim
+            + "\", \"curso\": {\"id\": " + cursoId + "}, \"professor\": {\"id\": " + professorId + "}}";
+    }
+
+    private long contarConsultas(String url) throws Exception {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    private List<Turma> criarTurmas(int quantidade) {
+        List<Turma> turmas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            long sufixo = turmaRepository.count();
+
+            Curso curso = new Curso();
+            curso.setNome("Curso " + sufixo);
+            curso.setDescricao("Descrição do curso " + sufixo);
+            curso.setCargaHoraria(40);
+            curso = cursoRepository.save(curso);
+
+            Professor professor = new Professor();
+            professor.setNome("Professor " + sufixo);
+            professor.setAreaEspecializacao("Computação");
+            professor.setCurriculo("Currículo " + sufixo);
+            professor = professorRepository.save(professor);
+
+            Aluno aluno = alunoRepository.save(novoAluno(String.format("%011d", sufixo)));
+
+            Turma turma = new Turma();
+            turma.setCodigoTurma("T-" + sufixo);
+            turma.setDataInicio(LocalDate.of(2025, 2, 1));
+            turma.setDataFim(LocalDate.of(2025, 6, 30));
+            turma.setCurso(curso);
+            turma.setProfessor(professor);
+            turma.getAlunos().add(aluno);
+            turmas.add(turmaRepository.save(turma));
+        }
+        return turmas;
+    }
+
+    private Aluno novoAluno(String cpf) {
+        Aluno aluno = new Aluno();
+        aluno.setNome("Aluno " + cpf);
+        aluno.setCpf(cpf);
+        aluno.setEmail("aluno" + cpf + "@exemplo.com");
+        return aluno;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "gerencia.idempotencia.prazo-reserva=600ms")
+class IdempotenciaServiceTest {
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("delete from requisicao_idempotente");
+    }
+
+    @Test
+    void reservaRenovadaNaoVenceDuranteARequisicao() throws Exception {
+        Optional<String> reserva = idempotenciaService.reservar("chave-lote", "POST", "/api/matriculas/lote", "hash");
+        assertThat(reserva).isPresent();
+
+        // Requisição que passa do prazo da reserva: a renovação mantém a chave com ela
+        ScheduledFuture<?> renovacao = idempotenciaService.manterReserva("chave-lote", reserva.get());
+        try {
+            Thread.sleep(1500);
+            assertThat(idempotenciaService.reservar("chave-lote", "POST", "/api/matriculas/lote", "hash")).isEmpty();
+        } finally {
+            renovacao.cancel(false);
+        }
+
+        // Sem renovação (a instância caiu), a chave vence
+        Thread.sleep(1000);
+        assertThat(idempotenciaService.reservar("chave-lote", "POST", "/api/matriculas/lote", "hash")).isPresent();
+    }
+}
@@ -0,0 +1,168 @@
+package com.cursos.gerencia_de_cursos.service;
+
+import com.cursos.gerencia_de_cursos.dto.MatriculaResultado;
+import com.cursos.gerencia_de_cursos.dto.RelatorioMatriculaLote;
+import com.cursos.gerencia_de_cursos.dto.StatusMatricula;
+import com.cursos.gerencia_de_cursos.model.Aluno;
+import com.cursos.gerencia_de_cursos.model.Curso;
+import com.cursos.gerencia_de_cursos.model.Professor;
+import com.cursos.gerencia_de_cursos.model.Turma;
+import com.cursos.gerencia_de_cursos.repository.AlunoRepository;
+import com.cursos.gerencia_de_cursos.repository.CursoRepository;
+import com.cursos.gerencia_de_cursos.repository.ProfessorRepository;
+import com.cursos.gerencia_de_cursos.repository.TurmaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MatriculaServiceTest {
+
+    private static final int CAPACIDADE = 10;
+    private static final int CONCORRENTES = 64;
+
+    @Autowired
+    private MatriculaService matriculaService;
+    @Autowired
+    private TurmaRepository turmaRepository;
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private AlunoRepository alunoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Turma turma;
+    private List<Aluno> alunos;
+
+    @BeforeEach
+    void prepararBase() {
+        turmaRepository.deleteAll();
+        alunoRepository.deleteAll();
+        cursoRepository.deleteAll();
+        professorRepository.deleteAll();
+
+        turma = new Turma();
+        turma.setCodigoTurma("CONC-1");
+        turma.setDataInicio(LocalDate.of(2025, 2, 1));
+        turma.setDataFim(LocalDate.of(2025, 6, 30));
+        turma.setCapacidade(CAPACIDADE);
+        turma.setCurso(cursoRepository.save(new Curso(null, null, "Algoritmos", "Estruturas de dados", 80)));
+        turma.setProfessor(professorRepository.save(new Professor(null, null, "Rui", "Algoritmos", "Mestre em Computação")));
+        turma = turmaRepository.save(turma);
+
+        alunos = new ArrayList<>();
+        for (int i = 0; i < CONCORRENTES; i++) {
+            alunos.add(alunoRepository.save(new Aluno(null, null, "Aluno " + i, String.format("%011d", i), "aluno" + i + "@exemplo.com")));
+        }
+    }
+
+    @Test
+    void matriculasConcorrentesNuncaUltrapassamACapacidade() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<MatriculaResultado>> futuros = new ArrayList<>();
+        try {
+            for (Aluno aluno : alunos) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    return matriculaService.matricular(turma.getId(), aluno.getId());
+                }));
+            }
+            largada.countDown();
+
+            List<MatriculaResultado> resultados = new ArrayList<>();
+            for (Future<MatriculaResultado> futuro : futuros) {
+                resultados.add(futuro.get());
+            }
+            Map<StatusMatricula, Long> porStatus = resultados.stream()
+                .collect(Collectors.groupingBy(MatriculaResultado::status, Collectors.counting()));
+
+            assertThat(porStatus).containsEntry(StatusMatricula.MATRICULADO, (long) CAPACIDADE)
+                                 .containsEntry(StatusMatricula.EM_ESPERA, (long) CONCORRENTES - CAPACIDADE);
+            assertThat(contar("select count(*) from turma_aluno where turma_id = ?")).isEqualTo(CAPACIDADE);
+            assertThat(contar("select vagas_ocupadas from turma where id = ?")).isEqualTo(CAPACIDADE);
+            assertThat(contar("select count(*) from lista_espera where turma_id = ?")).isEqualTo(CONCORRENTES - CAPACIDADE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loteNaoFalhaComMatriculasIndividuaisSimultaneas() throws Exception {
+        turma.setCapacidade(null);
+        turma = turmaRepository.save(turma);
+        List<Long> ids = alunos.stream().map(Aluno::getId).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENTES + 1);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            Future<RelatorioMatriculaLote> lote = executor.submit(() -> {
+                largada.await();
+                return matriculaService.matricularEmLote(turma.getId(), ids);
+            });
+            List<Future<Boolean>> individuais = new ArrayList<>();
+            for (Long alunoId : ids) {
+                individuais.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        matriculaService.matricular(turma.getId(), alunoId);
+                        return true;
+                    } catch (ResponseStatusException e) {
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            long matriculadosNoLote = lote.get().matriculados();
+            long matriculadosIndividualmente = 0;
+            for (Future<Boolean> individual : individuais) {
+                matriculadosIndividualmente += individual.get() ? 1 : 0;
+            }
+            assertThat(matriculadosNoLote + matriculadosIndividualmente).isEqualTo(CONCORRENTES);
+            assertThat(contar("select count(*) from turma_aluno where turma_id = ?")).isEqualTo(CONCORRENTES);
+            assertThat(contar("select vagas_ocupadas from turma where id = ?")).isEqualTo(CONCORRENTES);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void desmatricularPromoveOPrimeiroDaListaDeEspera() {
+        Map<Long, StatusMatricula> status = alunos.subList(0, CAPACIDADE + 2).stream()
+            .collect(Collectors.toMap(Aluno::getId, a -> matriculaService.matricular(turma.getId(), a.getId()).status()));
+        assertThat(status.values()).filteredOn(s -> s == StatusMatricula.EM_ESPERA).hasSize(2);
+
+        matriculaService.desmatricular(turma.getId(), alunos.get(0).getId());
+
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from turma_aluno where turma_id = ? and aluno_id = ?", Integer.class, turma.getId(), alunos.get(CAPACIDADE).getId()))
+            .isEqualTo(1);
+        assertThat(contar("select vagas_ocupadas from turma where id = ?")).isEqualTo(CAPACIDADE);
+        assertThat(contar("select count(*) from lista_espera where turma_id = ?")).isEqualTo(1);
+    }
+
+    private int contar(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, turma.getId());
+    }
+}
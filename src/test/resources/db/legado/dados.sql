@@ -0,0 +1,12 @@
+-- Dados gravados pela primeira versão, antes das migrações
+insert into curso (id, nome, descricao, carga_horaria) values (1, 'Banco de Dados', 'Modelagem e SQL', 40);
+insert into professor (id, nome, area_especializacao, curriculo) values (1, 'Helena', 'Dados', 'Mestre');
+insert into aluno (id, nome, cpf, email) values (1, 'Caio', '11111111111', 'caio@exemplo.com');
+insert into aluno (id, nome, cpf, email) values (2, 'Lia', '22222222222', 'lia@exemplo.com');
+insert into turma (id, codigo_turma, data_inicio, data_fim, curso_id, professor_id)
+values (1, 'BD-LEGADO-1', date '2030-01-01', date '2030-06-30', 1, 1);
+insert into turma (id, codigo_turma, data_inicio, data_fim, curso_id, professor_id)
+values (2, 'BD-LEGADO-2', date '2030-07-01', date '2030-12-31', 1, 1);
+insert into turma_aluno (turma_id, aluno_id) values (1, 1);
+insert into turma_aluno (turma_id, aluno_id) values (1, 2);
+insert into turma_aluno (turma_id, aluno_id) values (2, 2);